@@ -0,0 +1,178 @@
+import java.util.Arrays;
+
+/**
+ * The KenKenAllDifferent Class that keeps every row and column of the puzzle consistent with the rule that all of
+ * its cells have different values. Each line matches its cells to different values, and a value is only kept in a
+ * cell if some matching of the whole line uses it, which is found from the strongly connected groups of cells that
+ * can trade their matched values. This finds naked pairs and triples and lines with too few values for their cells.
+ */
+public class KenKenAllDifferent {
+    private int boardSize;
+
+    private int[][] matches;
+    private int[] domains;
+    private int[] valueCells;
+    private int visited;
+
+    private int[] order;
+    private int[] lowLinks;
+    private int[] components;
+    private int[] componentValues;
+    private int[] stack;
+    private boolean[] onStack;
+    private int stackSize;
+    private int nextOrder;
+    private int numOfComponents;
+
+    /**
+     * The constructor for the KenKenAllDifferent Class
+     * @param b - The board size
+     */
+    public KenKenAllDifferent(int b) {
+        boardSize = b;
+
+        // The values matched to the cells of each row and then each column, kept to start the next matching from
+        matches = new int[2 * b][b];
+        domains = new int[b];
+        valueCells = new int[b + 1];
+
+        order = new int[b];
+        lowLinks = new int[b];
+        components = new int[b];
+        componentValues = new int[b];
+        stack = new int[b];
+        onStack = new boolean[b];
+    }
+
+    /**
+     * The method for removing the values of a row or column that no matching of its cells can use
+     * @param domain - The domains of the puzzle
+     * @param line - The row, or the board size plus the column
+     * @param first - The first cell of the row or column
+     * @param step - The distance between two cells of the row or column
+     * @return - A boolean that is false if the cells cannot all have different values
+     */
+    public boolean revise(KenKenDomain domain, int line, int first, int step) {
+        int[] match = matches[line];
+        Arrays.fill(valueCells, -1);
+
+        // Keep the matches from last time that are still possible
+        for (int i = 0; i < boardSize; i++) {
+            domains[i] = domain.getDomain(first + i * step);
+            if (domains[i] == 0) {
+                return false;
+            }
+
+            int value = match[i];
+            if (value != 0 && (domains[i] & KenKenDomain.bit(value)) != 0 && valueCells[value] < 0) {
+                valueCells[value] = i;
+            } else {
+                match[i] = 0;
+            }
+        }
+
+        // Match the rest of the cells with augmenting paths
+        for (int i = 0; i < boardSize; i++) {
+            visited = 0;
+            if (match[i] == 0 && !augment(match, i)) {
+                return false;
+            }
+        }
+
+        findComponents(match);
+
+        // A value is only kept if it is matched to the cell or to a cell in the same component
+        for (int i = 0; i < boardSize; i++) {
+            int allowed = domains[i] & componentValues[components[i]];
+            if (allowed != domains[i]) {
+                domain.restrict(first + i * step, allowed);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for finding a value for a cell, moving the cells that have its values to other values if needed
+     * @param match - The values matched to the cells of the line
+     * @param cell - The position of the cell in the line
+     * @return - A boolean that is true if the cell was matched
+     */
+    private boolean augment(int[] match, int cell) {
+        // Each value is only tried once in a search since the cells behind it do not change
+        for (int value = KenKenDomain.lowestValueOf(domains[cell]); value != 0;
+                value = KenKenDomain.nextValueOf(domains[cell], value)) {
+            if ((visited & KenKenDomain.bit(value)) != 0) {
+                continue;
+            }
+            visited |= KenKenDomain.bit(value);
+
+            // If the value is free or the cell that has it can move to another value
+            if (valueCells[value] < 0 || augment(match, valueCells[value])) {
+                match[cell] = value;
+                valueCells[value] = cell;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for grouping the cells of a line that can trade their matched values with each other. A cell points
+     * to the cells matched to the other values of its domain, and the groups are the strongly connected components.
+     * @param match - The values matched to the cells of the line
+     */
+    private void findComponents(int[] match) {
+        Arrays.fill(order, -1);
+        stackSize = 0;
+        nextOrder = 0;
+        numOfComponents = 0;
+
+        for (int i = 0; i < boardSize; i++) {
+            if (order[i] < 0) {
+                connect(match, i);
+            }
+        }
+    }
+
+    /**
+     * The method for visiting a cell in Tarjan's strongly connected components search
+     * @param match - The values matched to the cells of the line
+     * @param cell - The position of the cell in the line
+     */
+    private void connect(int[] match, int cell) {
+        order[cell] = nextOrder;
+        lowLinks[cell] = nextOrder;
+        nextOrder++;
+        stack[stackSize++] = cell;
+        onStack[cell] = true;
+
+        int others = domains[cell] & ~KenKenDomain.bit(match[cell]);
+        for (int value = KenKenDomain.lowestValueOf(others); value != 0;
+                value = KenKenDomain.nextValueOf(others, value)) {
+            int next = valueCells[value];
+
+            if (order[next] < 0) {
+                connect(match, next);
+                lowLinks[cell] = Math.min(lowLinks[cell], lowLinks[next]);
+            } else if (onStack[next]) {
+                lowLinks[cell] = Math.min(lowLinks[cell], order[next]);
+            }
+        }
+
+        // If the cell is the root of a component, collect the values matched to its cells
+        if (lowLinks[cell] == order[cell]) {
+            int values = 0;
+            int member;
+            do {
+                member = stack[--stackSize];
+                onStack[member] = false;
+                components[member] = numOfComponents;
+                values |= KenKenDomain.bit(match[member]);
+            } while (member != cell);
+
+            componentValues[numOfComponents++] = values;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+import java.util.InputMismatchException;
+
+/**
+ * The KenKenCage Class that holds one group of cells from the puzzle file along with the math equation that the
+ * values of those cells have to satisfy. The cage is compiled once when the file is read so the target and
+ * operator never have to be parsed again while solving.
+ */
+public class KenKenCage {
+    /**
+     * The operators that can be used by the math equation of a cage
+     */
+    public enum Operator {
+        ADD('+'),
+        SUBTRACT('-'),
+        MULTIPLY('x'),
+        DIVIDE('/'),
+        EQUALS('=');
+
+        private final char sign;
+
+        Operator(char sign) {
+            this.sign = sign;
+        }
+
+        /**
+         * The method for retrieving the sign used for the operator in the puzzle file
+         * @return - The sign of the operator
+         */
+        public char getSign() {
+            return sign;
+        }
+
+        /**
+         * The method for finding the operator that matches the sign in the puzzle file
+         * @param sign - The sign at the end of the equation
+         * @return - The matching operator
+         */
+        public static Operator fromSign(char sign) {
+            for (Operator operator : values()) {
+                if (operator.sign == Character.toLowerCase(sign)) {
+                    return operator;
+                }
+            }
+
+            throw new InputMismatchException("Unknown operator " + sign);
+        }
+    }
+
+    private final Operator operator;
+    private final int target;
+    private final int[] cells;
+
+    /**
+     * The constructor for the KenKenCage Class
+     * @param o - The operator of the math equation
+     * @param t - The value the math equation has to equal
+     * @param c - The indexes of the cells in the cage
+     */
+    public KenKenCage(Operator o, int t, int[] c) {
+        operator = o;
+        target = t;
+        cells = c;
+    }
+
+    /**
+     * The method for creating a cage from the equation at the end of a line in the puzzle file
+     * @param equation - The equation, for example "12+"
+     * @param c - The indexes of the cells in the cage
+     * @return - The compiled cage
+     */
+    public static KenKenCage parse(String equation, int[] c) {
+        Operator operator = Operator.fromSign(equation.charAt(equation.length()-1));
+        int target = Integer.parseInt(equation.substring(0, equation.length()-1));
+
+        return new KenKenCage(operator, target, c);
+    }
+
+    /**
+     * The method for retrieving the operator of the cage
+     * @return - The operator
+     */
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * The method for retrieving the value the math equation has to equal
+     * @return - The target value
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * The method for retrieving the cells in the cage
+     * @return - The indexes of the cells
+     */
+    public int[] getCells() {
+        return cells;
+    }
+
+    /**
+     * The method for retrieving the number of cells in the cage
+     * @return - The number of cells
+     */
+    public int size() {
+        return cells.length;
+    }
+}
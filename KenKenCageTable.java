@@ -0,0 +1,253 @@
+import java.util.Arrays;
+
+/**
+ * The KenKenCageTable Class that holds every combination of values that satisfies the math equation of a cage. The
+ * combinations are listed once when the puzzle is loaded, with cells that share a row or column never taking the
+ * same value, so the cage can be revised by checking which combinations are still possible.
+ */
+public class KenKenCageTable {
+    /**
+     * The largest number of combinations that will be listed for one cage
+     */
+    public static final int MAX_TUPLES = 50000;
+
+    private int arity;
+    private int[] tuples;
+    private int count;
+    private int[][] valueTuples;
+
+    /**
+     * The constructor for the KenKenCageTable Class
+     * @param a - The number of cells in each combination
+     * @param t - The values of the combinations, one after another
+     * @param c - The number of combinations
+     */
+    public KenKenCageTable(int a, int[] t, int c) {
+        arity = a;
+        tuples = t;
+        count = c;
+    }
+
+    /**
+     * The method for listing all of the combinations of a cage
+     * @param cage - The cage
+     * @param boardSize - The board size
+     * @return - The table of combinations, or null if there are more than MAX_TUPLES of them
+     */
+    public static KenKenCageTable build(KenKenCage cage, int boardSize) {
+        int[] cells = cage.getCells();
+        boolean[][] sameLine = findSameLines(cells, boardSize);
+
+        KenKenCageTable table = new KenKenCageTable(cells.length, new int[cells.length * 16], 0);
+        if (!table.addTuples(cage, sameLine, boardSize, new int[cells.length], 0)) {
+            return null;
+        }
+        table.tuples = Arrays.copyOf(table.tuples, table.count * table.arity);
+        table.indexTuples(boardSize);
+
+        return table;
+    }
+
+    /**
+     * The method for listing, for each cell and value, the combinations that give the cell that value
+     * @param boardSize - The board size
+     */
+    private void indexTuples(int boardSize) {
+        int[] counts = new int[arity * (boardSize + 1)];
+        for (int start = 0; start < count * arity; start += arity) {
+            for (int i = 0; i < arity; i++) {
+                counts[i * (boardSize + 1) + tuples[start + i]]++;
+            }
+        }
+
+        valueTuples = new int[counts.length][];
+        for (int key = 0; key < counts.length; key++) {
+            valueTuples[key] = new int[counts[key]];
+            counts[key] = 0;
+        }
+
+        // Store where each combination starts in the tuples array
+        for (int start = 0; start < count * arity; start += arity) {
+            for (int i = 0; i < arity; i++) {
+                int key = i * (boardSize + 1) + tuples[start + i];
+                valueTuples[key][counts[key]++] = start;
+            }
+        }
+    }
+
+    /**
+     * The method for finding which pairs of cells in a cage share a row or a column
+     * @param cells - The indexes of the cells in the cage
+     * @param boardSize - The board size
+     * @return - A table that is true for the pairs of cells that share a row or column
+     */
+    public static boolean[][] findSameLines(int[] cells, int boardSize) {
+        boolean[][] sameLine = new boolean[cells.length][cells.length];
+
+        for (int i = 0; i < cells.length; i++) {
+            for (int j = 0; j < cells.length; j++) {
+                sameLine[i][j] = i != j && (cells[i] / boardSize == cells[j] / boardSize
+                        || cells[i] % boardSize == cells[j] % boardSize);
+            }
+        }
+
+        return sameLine;
+    }
+
+    /**
+     * The method for filling in the values of the cells one at a time and adding the combinations that work
+     * @param cage - The cage
+     * @param sameLine - Which pairs of cells share a row or column
+     * @param boardSize - The board size
+     * @param values - The values chosen for the cells so far
+     * @param position - The cell being filled in
+     * @return - A boolean that is false if the table grew larger than MAX_TUPLES
+     */
+    private boolean addTuples(KenKenCage cage, boolean[][] sameLine, int boardSize, int[] values, int position) {
+        // If all of the cells have values
+        if (position == arity) {
+            if (satisfies(cage, values)) {
+                if (count == MAX_TUPLES) {
+                    return false;
+                }
+                if ((count + 1) * arity > tuples.length) {
+                    tuples = Arrays.copyOf(tuples, tuples.length * 2);
+                }
+                System.arraycopy(values, 0, tuples, count * arity, arity);
+                count++;
+            }
+            return true;
+        }
+
+        for (int value = 1; value <= boardSize; value++) {
+            boolean valid = true;
+
+            // If a cell in the same row or column already has the value
+            for (int i = 0; i < position && valid; i++) {
+                if (sameLine[position][i] && values[i] == value) {
+                    valid = false;
+                }
+            }
+
+            if (valid && canStillReach(cage, values, position, value, boardSize)) {
+                values[position] = value;
+                if (!addTuples(cage, sameLine, boardSize, values, position + 1)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for checking if the target of an addition or multiplication can still be reached
+     * @param cage - The cage
+     * @param values - The values chosen for the cells so far
+     * @param position - The cell being filled in
+     * @param value - The value being tried for the cell
+     * @param boardSize - The board size
+     * @return - A boolean that is false if no values for the remaining cells could reach the target
+     */
+    private static boolean canStillReach(KenKenCage cage, int[] values, int position, int value, int boardSize) {
+        int remaining = values.length - position - 1;
+
+        if (cage.getOperator() == KenKenCage.Operator.ADD) {
+            int sum = value;
+            for (int i = 0; i < position; i++) {
+                sum += values[i];
+            }
+            return sum + remaining <= cage.getTarget() && sum + remaining * boardSize >= cage.getTarget();
+        } else if (cage.getOperator() == KenKenCage.Operator.MULTIPLY) {
+            long product = value;
+            for (int i = 0; i < position; i++) {
+                product *= values[i];
+            }
+            return cage.getTarget() % product == 0;
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for checking if a full set of values satisfies the math equation of the cage
+     * @param cage - The cage
+     * @param values - The values of the cells
+     * @return - A boolean that is true if the equation is satisfied
+     */
+    public static boolean satisfies(KenKenCage cage, int[] values) {
+        return satisfies(cage, values, values.length);
+    }
+
+    /**
+     * The method for checking if the first values of an array satisfy the math equation of the cage
+     * @param cage - The cage
+     * @param values - The array holding the values of the cells
+     * @param length - The number of values in the array
+     * @return - A boolean that is true if the equation is satisfied
+     */
+    public static boolean satisfies(KenKenCage cage, int[] values, int length) {
+        long sum = 0;
+        long product = 1;
+        int largest = 0;
+
+        for (int i = 0; i < length; i++) {
+            int value = values[i];
+            sum += value;
+            product *= value;
+            largest = Math.max(largest, value);
+        }
+
+        switch (cage.getOperator()) {
+            case ADD:
+                return sum == cage.getTarget();
+            case MULTIPLY:
+                return product == cage.getTarget();
+            // The largest value minus the others
+            case SUBTRACT:
+                return largest - (sum - largest) == cage.getTarget();
+            // The largest value divided by the others
+            case DIVIDE:
+                return largest % (product / largest) == 0 && largest / (product / largest) == cage.getTarget();
+            case EQUALS:
+                return length == 1 && values[0] == cage.getTarget();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The method for retrieving the number of cells in each combination
+     * @return - The number of cells
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * The method for retrieving the values of the combinations, one after another
+     * @return - The values of the combinations
+     */
+    public int[] getTuples() {
+        return tuples;
+    }
+
+    /**
+     * The method for retrieving where the combinations that give a cell a value start in the tuples array
+     * @param position - The position of the cell in the cage
+     * @param value - The value
+     * @param boardSize - The board size
+     * @return - The starts of the combinations
+     */
+    public int[] getValueTuples(int position, int value, int boardSize) {
+        return valueTuples[position * (boardSize + 1) + value];
+    }
+
+    /**
+     * The method for retrieving the number of combinations
+     * @return - The number of combinations
+     */
+    public int getCount() {
+        return count;
+    }
+}
@@ -1,3 +1,4 @@
+import java.math.BigInteger;
 import java.util.*;
 
 /**
@@ -5,13 +6,28 @@ import java.util.*;
  *
  * @since Date Started: 3/08/2016 - Date Finished: 3/26/2016
  *
- * The KenKenConstraints Class that contains the TreeMap holding the constraints and has methods for limiting
+ * The KenKenConstraints Class that contains the list of cages holding the constraints and has methods for limiting
  * the domain.
  */
 public class KenKenConstraints {
+    /**
+     * The largest number of cells in a cage implied by the sums and products of the rows and columns
+     */
+    public static final int MAX_IMPLIED_CELLS = 5;
+
     KenKenDomain domain;
 
-    private TreeMap<String, String[]> mathConstraints = new TreeMap<>();
+    private List<KenKenCage> mathConstraints = new ArrayList<>();
+    private int numOfPuzzleCages = -1;
+    private List<KenKenCageTable> cageTables = new ArrayList<>();
+    private List<KenKenProductPropagator> productPropagators = new ArrayList<>();
+    private List<int[]> cageResidues = new ArrayList<>();
+    private int[][] cellCages;
+    private int[] tableDomains = new int[4];
+    private int[] lineUnions;
+    private int[] lineCounts;
+    private int[] lineSums;
+    private int[] touchedLines;
     private int boardSize;
 
     /**
@@ -22,513 +38,612 @@ public class KenKenConstraints {
     public KenKenConstraints(KenKenDomain d, int b) {
         domain = d;
         boardSize = b;
+        cellCages = new int[b * b][0];
+        lineUnions = new int[b];
+        lineCounts = new int[b];
+        lineSums = new int[b];
+        touchedLines = new int[b];
     }
 
     /**
-     * The method for creating the TreeMap of the constraints
+     * The method for creating the cage of a constraint and adding it to the cages of its cells
      * @param values - The array of values of the constraints
      */
     public void createMathConst(String[] values) {
-        String keyConst = values[0] + values[1];
-
         // Get the number of cells based on how many values were sent in the array
         int numOfCells = (int) Math.floor(values.length/2);
-        String[] valueConst = new String[numOfCells];
+        int[] cellGroup = new int[numOfCells];
 
         // For the number of number of cells
-        for (int i = 1; i < numOfCells; i++) {
-            valueConst[i-1] = values[i*2] + values[(i*2)+1];
+        for (int i = 0; i < numOfCells; i++) {
+            cellGroup[i] = domain.getCellIndex(Integer.parseInt(values[i*2]), Integer.parseInt(values[(i*2)+1]));
         }
 
-        // Get the last cell to put in the array
-        valueConst[numOfCells-1] = values[(numOfCells*2)].substring(1, values[(numOfCells*2)].length());
+        // Compile the equation at the end of the line into the cage
+        addCage(KenKenCage.parse(values[(numOfCells*2)].substring(1, values[(numOfCells*2)].length()), cellGroup));
+    }
+
+    /**
+     * The method for adding a cage to the constraints and to the lookup of the cages for each of its cells
+     * @param cage - The cage being added
+     */
+    public void addCage(KenKenCage cage) {
+        int cageIndex = getMathConstraints().size();
+        getMathConstraints().add(cage);
+
+        // Get the combinations of the larger cages, shared with earlier puzzles, so they can be revised with
+        // generalized arc consistency
+        KenKenCageTable table = cage.size() >= 3 ? KenKenTableCache.getTable(cage, boardSize) : null;
+        cageTables.add(table);
+
+        // The last combination found to support each value of each cell, which stays valid across backtracking
+        int[] residues = null;
+        if (table != null) {
+            residues = new int[cage.size() * (boardSize + 1)];
+            Arrays.fill(residues, -1);
+        }
+        cageResidues.add(residues);
 
-        // Put the key and the values in the MathConstraint TreeMap
-        getMathConstraints().put(keyConst, valueConst);
+        // Multiplication cages with too many combinations to list are revised with the prime factors of the value
+        productPropagators.add(table == null && cage.size() >= 3 && cage.getOperator() == KenKenCage.Operator.MULTIPLY
+                ? new KenKenProductPropagator(cage, boardSize) : null);
+        if (cage.size() > tableDomains.length) {
+            tableDomains = new int[cage.size()];
+        }
+
+        for (int cell: cage.getCells()) {
+            cellCages[cell] = Arrays.copyOf(cellCages[cell], cellCages[cell].length + 1);
+            cellCages[cell][cellCages[cell].length - 1] = cageIndex;
+        }
     }
 
     /**
-     * The method for removing all of the domains if they are not equal to the value of the cell
+     * The method for adding the same cages as another set of constraints, for a copy of the puzzle
+     * @param other - The constraints being copied
      */
-    public void removeEqualsDomain() {
-        for(Map.Entry<String,String[]> entry : getMathConstraints().entrySet()) {
-            if (entry.getValue().length == 1) {
-                List<String> values = new ArrayList<>();
-                values.add(entry.getValue()[0].substring(0, 1));
-                domain.getKenKenDomain().replace(entry.getKey(), values);
-            }
+    public void copyCages(KenKenConstraints other) {
+        for (KenKenCage cage: other.getMathConstraints()) {
+            addCage(cage);
         }
+        numOfPuzzleCages = other.numOfPuzzleCages;
     }
 
     /**
-     * The method for removing values of the domain that are not possible
-     * @param cellGroup - The group of cells for a constraint
-     * @param value - The value that the cells should add up to
-     * @param kenKenArray - The current state of the board
+     * The method for adding the cages implied by every row, column and band of rows or columns summing to n(n+1)/2
+     * and multiplying to n! for each of its lines. The cages of the puzzle that are fully inside a band take their
+     * part of the sum or product, and whatever is left has to be made by the rest of the cells of the band.
+     * @return - The number of cages that were added
      */
-    public void removeAddValues(LinkedList<String> cellGroup, String value, int[][] kenKenArray) {
-        List<String> newDomain;
-        int compareValue;
-
-        if (Integer.parseInt(value) < boardSize) {
-            compareValue = Integer.parseInt(value);
-        } else {
-            compareValue = boardSize + 1;
+    public int addImpliedCages() {
+        numOfPuzzleCages = getMathConstraints().size();
+        Set<String> seen = new HashSet<>();
+        int added = 0;
+
+        for (KenKenCage cage: getMathConstraints()) {
+            int[] cells = cage.getCells().clone();
+            Arrays.sort(cells);
+            seen.add(cage.getOperator().getSign() + Arrays.toString(cells));
         }
 
-        for (String cells: cellGroup) {
-            newDomain = new LinkedList<>();
-            for (String domainList: domain.getKenKenDomain().get(cells)) {
-                if (domain.getKenKenDomain().get(cells).size() != 1 &&
-                kenKenArray[Integer.parseInt(cells.substring(0, 1))][Integer.parseInt(cells.substring(1, 2))] == 0) {
-                    // If the domain is less than or equal to the size of the board
-                    if (Integer.parseInt(domainList) < compareValue) {
-                        newDomain.add(domainList);
-                    }
+        // For the bands of rows and then the bands of columns, from a single line up to all but one of them
+        for (int axis = 0; axis < 2; axis++) {
+            for (int width = 1; width < boardSize; width++) {
+                for (int start = 0; start + width <= boardSize; start++) {
+                    added += addBandCages(axis == 0, start, start + width, seen);
                 }
             }
+        }
+
+        return added;
+    }
+
+    /**
+     * The method for adding the implied sum and product cages of one band of rows or columns
+     * @param rows - Whether the band is made of rows instead of columns
+     * @param start - The first line of the band
+     * @param end - The line after the last line of the band
+     * @param seen - The operators and cells of the cages that already exist
+     * @return - The number of cages that were added
+     */
+    private int addBandCages(boolean rows, int start, int end, Set<String> seen) {
+        int width = end - start;
+        boolean[] summed = new boolean[boardSize * boardSize];
+        boolean[] multiplied = new boolean[boardSize * boardSize];
+        int sum = width * boardSize * (boardSize + 1) / 2;
+        BigInteger product = factorial(boardSize).pow(width);
+        boolean productPossible = true;
+
+        // Take out the cages of the puzzle that are fully inside the band
+        for (int i = 0; i < numOfPuzzleCages; i++) {
+            KenKenCage cage = getMathConstraints().get(i);
+            boolean inside = true;
+            for (int cell: cage.getCells()) {
+                int line = rows ? cell / boardSize : cell % boardSize;
+                inside = inside && line >= start && line < end;
+            }
+            if (!inside) {
+                continue;
+            }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cells, newDomain);
+            KenKenCage.Operator operator = cage.getOperator();
+            if (operator == KenKenCage.Operator.ADD || operator == KenKenCage.Operator.EQUALS) {
+                sum -= cage.getTarget();
+                for (int cell: cage.getCells()) {
+                    summed[cell] = true;
+                }
+            }
+            if (operator == KenKenCage.Operator.MULTIPLY || operator == KenKenCage.Operator.EQUALS) {
+                BigInteger target = BigInteger.valueOf(cage.getTarget());
+                // A product that does not divide the band cannot be made, so leave it to the search
+                if (target.signum() <= 0 || product.mod(target).signum() != 0) {
+                    productPossible = false;
+                } else {
+                    product = product.divide(target);
+                }
+                for (int cell: cage.getCells()) {
+                    multiplied[cell] = true;
+                }
             }
         }
+
+        int added = 0;
+        if (addImpliedCage(KenKenCage.Operator.ADD, sum, findLeftovers(rows, start, end, summed), seen)) {
+            added++;
+        }
+        if (productPossible && product.bitLength() < 32 && addImpliedCage(KenKenCage.Operator.MULTIPLY, product.intValue(),
+                findLeftovers(rows, start, end, multiplied), seen)) {
+            added++;
+        }
+
+        return added;
     }
 
     /**
-     * The method for removing values of the domain that are not possible
-     * @param cellGroup - The group of cells for a constraint
-     * @param value - The value of the constraint for the math equation
-     * @param kenKenArray - The current state of the board
+     * The method for finding the cells of a band that are not in one of the cages taken out of it
+     * @param rows - Whether the band is made of rows instead of columns
+     * @param start - The first line of the band
+     * @param end - The line after the last line of the band
+     * @param covered - Which cells are in the cages taken out of the band
+     * @return - The indexes of the cells that are left, in order
      */
-    public void removeMultValues(LinkedList<String> cellGroup, String value, int[][] kenKenArray) {
-        List<String> newDomain;
-
-        for (String cells: cellGroup) {
-            newDomain = new LinkedList<>();
-            for (String domainList: domain.getKenKenDomain().get(cells)) {
-                if (domain.getKenKenDomain().size() != 1 &&
-                        kenKenArray[Integer.parseInt(cells.substring(0, 1))][Integer.parseInt(cells.substring(1, 2))] == 0) {
-                    // If the value modulus divided by the domain is zero
-                    if ((Integer.parseInt(value) % Integer.parseInt(domainList)) == 0) {
-                        newDomain.add(domainList);
-                    }
-                }
+    private int[] findLeftovers(boolean rows, int start, int end, boolean[] covered) {
+        int[] cells = new int[boardSize * boardSize];
+        int count = 0;
+
+        for (int cell = 0; cell < boardSize * boardSize; cell++) {
+            int line = rows ? cell / boardSize : cell % boardSize;
+            if (line >= start && line < end && !covered[cell]) {
+                cells[count++] = cell;
             }
+        }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cells, newDomain);
+        return Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * The method for adding an implied cage if it is small enough to help and is not already a cage
+     * @param operator - The operator of the cage
+     * @param target - The sum or product the cells have to make
+     * @param cells - The indexes of the cells
+     * @param seen - The operators and cells of the cages that already exist
+     * @return - A boolean that is true if the cage was added
+     */
+    private boolean addImpliedCage(KenKenCage.Operator operator, int target, int[] cells, Set<String> seen) {
+        if (cells.length == 0 || cells.length > MAX_IMPLIED_CELLS) {
+            return false;
+        }
+
+        // A single cell left over has to be the value itself
+        if (cells.length == 1) {
+            if (target < 1 || target > boardSize) {
+                return false;
             }
+            operator = KenKenCage.Operator.EQUALS;
+        } else if (target < 1) {
+            return false;
         }
+
+        if (!seen.add(operator.getSign() + Arrays.toString(cells))) {
+            return false;
+        }
+        addCage(new KenKenCage(operator, target, cells));
+
+        return true;
     }
 
     /**
-     * The method for performing arc consistency on cells with addition equations
-     * @param cellGroup - The group of cells for a constraint
-     * @param value - The value of the constraint for the math equation
-     * @param kenKenArray - The current state of the board
+     * The method for finding the product of the values from 1 to n
+     * @param n - The largest value
+     * @return - The product of the values
      */
-    public void addArcConsistency(LinkedList<String> cellGroup, String value, int[][] kenKenArray) {
-        List<String> newDomain;
-        boolean domainValid;
+    private static BigInteger factorial(int n) {
+        BigInteger product = BigInteger.ONE;
 
-        // For the cells in the cell group
-        for (int i = 0; i < cellGroup.size(); i++) {
-            newDomain = new LinkedList<>();
-            // If the domain is not already size one and a value has not been assigned
-            if (domain.getKenKenDomain().get(cellGroup.get(i)).size() != 1 &&
-                    kenKenArray[Integer.parseInt(cellGroup.get(i).substring(0, 1))]
-                            [Integer.parseInt(cellGroup.get(i).substring(1, 2))] == 0) {
-                // For the list of domains for one cell
-                for (String domainList : domain.getKenKenDomain().get(cellGroup.get(i))) {
-                    domainValid = false;
-                    // For the list of domains for the other cell
-                    for (String otherDomains : domain.getKenKenDomain().get(cellGroup.get(1 - i))) {
-                        // If the domains are not equal
-                        if (!domainList.equals(otherDomains)) {
-                            // If the domains add up to the correct value
-                            if ((Integer.parseInt(domainList) + Integer.parseInt(otherDomains)) == Integer.parseInt(value)) {
-                                domainValid = true;
-                                break;
-                            }
-                        }
-                    }
-                    // If the domain was valid
-                    if (domainValid) {
-                        // Add it to the list
-                        newDomain.add(domainList);
-                    }
+        for (int i = 2; i <= n; i++) {
+            product = product.multiply(BigInteger.valueOf(i));
+        }
+
+        return product;
+    }
+
+    /**
+     * The method for revising the domains of the cells in a cage against its math equation
+     * @param cageIndex - The index of the cage being revised
+     * @return - A boolean that is false if a cell in the cage has no values left
+     */
+    public boolean reviseCage(int cageIndex) {
+        KenKenCage cage = getMathConstraints().get(cageIndex);
+        int[] cellGroup = cage.getCells();
+
+        // Tighten the bounds of larger addition cages first since it is cheap
+        if (cage.getOperator() == KenKenCage.Operator.ADD && cellGroup.length >= 3
+                && !boundsRevise(cellGroup, cage.getTarget())) {
+            return false;
+        }
+
+        // If the combinations of the cage have been listed
+        if (cageTables.get(cageIndex) != null) {
+            return tableRevise(cellGroup, cageTables.get(cageIndex), cageResidues.get(cageIndex));
+        }
+
+        switch (cage.getOperator()) {
+            // If it is a single cell
+            case EQUALS:
+                return replaceDomain(cellGroup[0], KenKenDomain.bit(cage.getTarget()));
+            // If it is an addition problem
+            case ADD:
+                if (cellGroup.length == 2) {
+                    return addArcConsistency(cellGroup, cage.getTarget());
                 }
-            }
+                return true;
+            // If it is a subtraction problem
+            case SUBTRACT:
+                return subArcConsistency(cellGroup, cage.getTarget());
+            // If it is a multiplication problem
+            case MULTIPLY:
+                if (cellGroup.length == 2) {
+                    return multArcConsistency(cellGroup, cage.getTarget());
+                }
+                return productPropagators.get(cageIndex).revise(domain);
+            // If it is a division problem
+            case DIVIDE:
+                return divArcConsistency(cellGroup, cage.getTarget());
+            default:
+                return true;
+        }
+    }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cellGroup.get(i), newDomain);
+    /**
+     * The method for performing bounds consistency on cells with addition equations. Each cell has to be at least
+     * the value minus the largest sum of the other cells and at most the value minus their smallest sum. The other
+     * cells that share a row or column need different values, so their sums use that many different values from
+     * their domains.
+     * @param cellGroup - The group of cells for a constraint
+     * @param value - The value that the cells should add up to
+     * @return - A boolean that is false if a cell in the cage has no values left
+     */
+    public boolean boundsRevise(int[] cellGroup, int value) {
+        for (int i = 0; i < cellGroup.length; i++) {
+            // The smallest and largest sums of the other cells, grouped by row and by column
+            long lower = Math.max(othersBound(cellGroup, i, true, true), othersBound(cellGroup, i, false, true));
+            long upper = Math.min(othersBound(cellGroup, i, true, false), othersBound(cellGroup, i, false, false));
+
+            long low = Math.max(1, value - upper);
+            long high = Math.min(boardSize, value - lower);
+            int allowed = low > high ? 0 : KenKenDomain.fullMask((int) high) & ~KenKenDomain.fullMask((int) low - 1);
+
+            if (!replaceDomain(cellGroup[i], allowed)) {
+                return false;
             }
         }
+
+        return true;
     }
 
     /**
-     * The method for performing arc consistency on cells with subtraction equations
+     * The method for finding the smallest or largest sum of all the cells of a cage except one
      * @param cellGroup - The group of cells for a constraint
-     * @param value - The value of the constraint for the math equation
-     * @param kenKenArray - The current state of the board
+     * @param skip - The position of the cell that is left out
+     * @param byRow - Whether the cells are grouped by row instead of by column
+     * @param lowest - Whether to find the smallest sum instead of the largest
+     * @return - The bound on the sum of the other cells
      */
-    public void subArcConsistency(LinkedList<String> cellGroup, String value, int[][] kenKenArray) {
-        List<String> newDomain;
-        boolean domainValid;
-
-        // For the cells in the cell group
-        for (int i = 0; i < cellGroup.size(); i++) {
-            newDomain = new LinkedList<>();
-            // If the domain is not already size one and a value has not been assigned
-            if (domain.getKenKenDomain().get(cellGroup.get(i)).size() != 1 &&
-                    kenKenArray[Integer.parseInt(cellGroup.get(i).substring(0, 1))]
-                            [Integer.parseInt(cellGroup.get(i).substring(1, 2))] == 0) {
-                // For the list of domains for one cell
-                for (String domainList : domain.getKenKenDomain().get(cellGroup.get(i))) {
-                    domainValid = false;
-                    // For the list of domains for the other cell
-                    for (String otherDomains : domain.getKenKenDomain().get(cellGroup.get(1 - i))) {
-                        // If the domains are not equal
-                        if (!domainList.equals(otherDomains)) {
-                            // If the domains add up or subtract to the correct value
-                            if ((Integer.parseInt(domainList) + Integer.parseInt(value)) == Integer.parseInt(otherDomains)) {
-                                domainValid = true;
-                                break;
-                            } else if ((Integer.parseInt(domainList) - Integer.parseInt(value)) == Integer.parseInt(otherDomains)) {
-                                domainValid = true;
-                                break;
-                            }
-                        }
-                    }
-                    // If the domain was valid
-                    if (domainValid) {
-                        // Add it to the list
-                        newDomain.add(domainList);
-                    }
+    private long othersBound(int[] cellGroup, int skip, boolean byRow, boolean lowest) {
+        int numOfLines = 0;
+        long total = 0;
+
+        // Collect the other cells by the row or column they are in
+        for (int j = 0; j < cellGroup.length; j++) {
+            if (j != skip) {
+                int line = byRow ? cellGroup[j] / boardSize : cellGroup[j] % boardSize;
+                int mask = domain.getDomain(cellGroup[j]);
+
+                if (lineCounts[line] == 0) {
+                    touchedLines[numOfLines++] = line;
                 }
+                lineCounts[line]++;
+                lineUnions[line] |= mask;
+                lineSums[line] += lowest ? KenKenDomain.lowestValueOf(mask) : 31 - Integer.numberOfLeadingZeros(mask);
             }
+        }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cellGroup.get(i), newDomain);
+        for (int t = 0; t < numOfLines; t++) {
+            int line = touchedLines[t];
+            int union = lineUnions[line];
+
+            // If the cells of the line do not have enough different values between them
+            if (Integer.bitCount(union) < lineCounts[line]) {
+                total += lowest ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+            } else {
+                // Add up the smallest or largest different values
+                int distinctSum = 0;
+                for (int n = 0; n < lineCounts[line]; n++) {
+                    int value = lowest ? Integer.numberOfTrailingZeros(union) : 31 - Integer.numberOfLeadingZeros(union);
+                    distinctSum += value;
+                    union &= ~KenKenDomain.bit(value);
+                }
+                total += lowest ? Math.max(lineSums[line], distinctSum) : Math.min(lineSums[line], distinctSum);
             }
+
+            lineCounts[line] = 0;
+            lineUnions[line] = 0;
+            lineSums[line] = 0;
         }
+
+        return total;
     }
 
     /**
-     * The method for performing arc consistency on cells with multiplication equations
+     * The method for performing arc consistency on cells with addition equations
      * @param cellGroup - The group of cells for a constraint
      * @param value - The value of the constraint for the math equation
-     * @param kenKenArray - The current state of the board
+     * @return - A boolean that is false if a cell in the cage has no values left
      */
-    public void multArcConsistency(LinkedList<String> cellGroup, String value, int[][] kenKenArray) {
-        List<String> newDomain;
-        boolean domainValid;
-
+    public boolean addArcConsistency(int[] cellGroup, int value) {
         // For the cells in the cell group
-        for (int i = 0; i < cellGroup.size(); i++) {
-            newDomain = new LinkedList<>();
-            // If the domain is not already size one and a value has not been assigned
-            if (domain.getKenKenDomain().get(cellGroup.get(i)).size() != 1 &&
-                    kenKenArray[Integer.parseInt(cellGroup.get(i).substring(0, 1))]
-                            [Integer.parseInt(cellGroup.get(i).substring(1, 2))] == 0) {
-                // For the list of domains for one cell
-                for (String domainList : domain.getKenKenDomain().get(cellGroup.get(i))) {
-                    domainValid = false;
-                    // For the list of domains for the other cell
-                    for (String otherDomains : domain.getKenKenDomain().get(cellGroup.get(1 - i))) {
-                        // If the domains are not equal
-                        if (!domainList.equals(otherDomains)) {
-                            // If the domains multiply to the correct value
-                            if ((Integer.parseInt(domainList) * Integer.parseInt(otherDomains)) == Integer.parseInt(value)) {
-                                domainValid = true;
-                                break;
-                            }
-                        }
-                    }
-                    // If the domain was valid
-                    if (domainValid) {
-                        // Add it to the list
-                        newDomain.add(domainList);
-                    }
+        for (int i = 0; i < cellGroup.length; i++) {
+            int cell = cellGroup[i];
+            int otherDomains = domain.getDomain(cellGroup[1 - i]);
+            int newDomain = 0;
+
+            // For the list of domains for one cell
+            for (int v = domain.lowestValue(cell); v != 0; v = domain.nextValue(cell, v)) {
+                int other = value - v;
+                // If the other cell has the value that adds up to the correct value
+                if ((other != v || !sharesLine(cellGroup[0], cellGroup[1])) && other > 0 && other <= boardSize && (otherDomains & KenKenDomain.bit(other)) != 0) {
+                    newDomain |= KenKenDomain.bit(v);
                 }
             }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cellGroup.get(i), newDomain);
+            if (!replaceDomain(cell, newDomain)) {
+                return false;
             }
         }
+
+        return true;
     }
 
     /**
-     * The method for performing arc consistency on cells with division equations
+     * The method for performing arc consistency on cells with subtraction equations
      * @param cellGroup - The group of cells for a constraint
      * @param value - The value of the constraint for the math equation
-     * @param kenKenArray - The current state of the board
+     * @return - A boolean that is false if a cell in the cage has no values left
      */
-    public void divArcConsistency(LinkedList<String> cellGroup, String value, int[][] kenKenArray) {
-        List<String> newDomain;
-        boolean domainValid;
-
+    public boolean subArcConsistency(int[] cellGroup, int value) {
         // For the cells in the cell group
-        for (int i = 0; i < cellGroup.size(); i++) {
-            newDomain = new LinkedList<>();
-            // If the domain is not already size one and a value has not been assigned
-            if (domain.getKenKenDomain().get(cellGroup.get(i)).size() != 1 &&
-                    kenKenArray[Integer.parseInt(cellGroup.get(i).substring(0, 1))]
-                            [Integer.parseInt(cellGroup.get(i).substring(1, 2))] == 0) {
-                // For the list of domains for one cell
-                for (String domainList : domain.getKenKenDomain().get(cellGroup.get(i))) {
-                    domainValid = false;
-                    // For the list of domains for the other cell
-                    for (String otherDomains : domain.getKenKenDomain().get(cellGroup.get(1 - i))) {
-                        // If the domains are not equal
-                        if (!domainList.equals(otherDomains)) {
-                            // If the domains divide or multiply to the correct value
-                            if (((Integer.parseInt(domainList) % Integer.parseInt(value)) == 0)
-                            && ((Integer.parseInt(domainList) / Integer.parseInt(value)) == Integer.parseInt(otherDomains))) {
-                                domainValid = true;
-                                break;
-                            } else if ((Integer.parseInt(domainList) * Integer.parseInt(value)) == Integer.parseInt(otherDomains)) {
-                                domainValid = true;
-                                break;
-                            }
-                        }
-                    }
-                    // If the domain was valid
-                    if (domainValid) {
-                        // Add it to the list
-                        newDomain.add(domainList);
-                    }
+        for (int i = 0; i < cellGroup.length; i++) {
+            int cell = cellGroup[i];
+            int otherDomains = domain.getDomain(cellGroup[1 - i]);
+            int newDomain = 0;
+
+            // For the list of domains for one cell
+            for (int v = domain.lowestValue(cell); v != 0; v = domain.nextValue(cell, v)) {
+                // If the other cell has a value that is the difference away from this one
+                if (value != 0 && (hasValue(otherDomains, v + value) || hasValue(otherDomains, v - value))) {
+                    newDomain |= KenKenDomain.bit(v);
                 }
             }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cellGroup.get(i), newDomain);
+            if (!replaceDomain(cell, newDomain)) {
+                return false;
             }
         }
+
+        return true;
     }
 
     /**
-     * The method for performing ternary constraint on a group of 3 cells
+     * The method for performing arc consistency on cells with multiplication equations
      * @param cellGroup - The group of cells for a constraint
      * @param value - The value of the constraint for the math equation
-     * @param sign - The sign for the equation
-     * @param kenKenArray - The current state of the board
+     * @return - A boolean that is false if a cell in the cage has no values left
      */
-    public void ternaryConsistency(LinkedList<String> cellGroup, String value, String sign, int[][] kenKenArray) {
-        boolean allInARowCol = false;
-
-        if (cellGroup.get(0).substring(0, 1).equals(cellGroup.get(1).substring(0, 1)) &&
-        cellGroup.get(1).substring(0, 1).equals(cellGroup.get(2).substring(0, 1))) {
-            allInARowCol = true;
-        } else if (cellGroup.get(0).substring(1, 2).equals(cellGroup.get(1).substring(1, 2)) &&
-        cellGroup.get(1).substring(1, 2).equals(cellGroup.get(2).substring(1, 2))) {
-            allInARowCol = true;
-        }
+    public boolean multArcConsistency(int[] cellGroup, int value) {
+        // For the cells in the cell group
+        for (int i = 0; i < cellGroup.length; i++) {
+            int cell = cellGroup[i];
+            int otherDomains = domain.getDomain(cellGroup[1 - i]);
+            int newDomain = 0;
+
+            // For the list of domains for one cell
+            for (int v = domain.lowestValue(cell); v != 0; v = domain.nextValue(cell, v)) {
+                // If the other cell has the value that multiplies to the correct value
+                if ((value % v) == 0 && (value / v != v || !sharesLine(cellGroup[0], cellGroup[1]))
+                        && hasValue(otherDomains, value / v)) {
+                    newDomain |= KenKenDomain.bit(v);
+                }
+            }
 
-        if (allInARowCol) {
-            allInARowConstraint(cellGroup, value, sign, kenKenArray);
-        } else {
-            allNotInRowConstraint(cellGroup, value, sign, kenKenArray);
+            if (!replaceDomain(cell, newDomain)) {
+                return false;
+            }
         }
+
+        return true;
     }
 
     /**
-     * The method for performing ternary constraint on cells with addition equations
+     * The method for performing arc consistency on cells with division equations
      * @param cellGroup - The group of cells for a constraint
      * @param value - The value of the constraint for the math equation
-     * @param sign - The sign for the equation
-     * @param kenKenArray - The current state of the board
+     * @return - A boolean that is false if a cell in the cage has no values left
      */
-    private void allInARowConstraint(LinkedList<String> cellGroup, String value, String sign, int[][] kenKenArray) {
-        List<String> newDomain;
-        boolean domainValid;
-
+    public boolean divArcConsistency(int[] cellGroup, int value) {
         // For the cells in the cell group
-        for (int i = 0; i < cellGroup.size(); i++) {
-            newDomain = new LinkedList<>();
-            // If the domain is not already size one and a value has not been assigned
-            if (domain.getKenKenDomain().get(cellGroup.get(i)).size() != 1 &&
-                    kenKenArray[Integer.parseInt(cellGroup.get(i).substring(0, 1))]
-                            [Integer.parseInt(cellGroup.get(i).substring(1, 2))] == 0) {
-                // For the list of domains for one cell
-                for (String domains1 : domain.getKenKenDomain().get(cellGroup.get(i))) {
-                    domainValid = false;
-                    // For the cells in the cell group
-                    for (int j = 0; j < cellGroup.size(); j++) {
-                        // If we are looking at a different element than the first
-                        if (j != i) {
-                            // For the list of domains for one cell
-                            for (String domains2 : domain.getKenKenDomain().get(cellGroup.get(j))) {
-                                // If the domains are not equal
-                                if (!domains1.equals(domains2)) {
-                                    // For the cells in the cell group
-                                    for (int k = 0; k < cellGroup.size(); k++) {
-                                        // If we are looking at a different element than the first or second
-                                        if (i != k && j != k) {
-                                            // For the list of domains for the other cell
-                                            for (String domains3 : domain.getKenKenDomain().get(cellGroup.get(k))) {
-                                                if (!domains1.equals(domains3) && !domains2.equals(domains3)) {
-                                                    // If the sign was an addition sign
-                                                    if (sign.equalsIgnoreCase("+")) {
-                                                        domainValid = checkTernaryAddition(Integer.parseInt(domains1),
-                                                                Integer.parseInt(domains2), Integer.parseInt(domains3),
-                                                                Integer.parseInt(value));
-                                                        // If the sign was a multiplication sign
-                                                    } else if (sign.equalsIgnoreCase("x")) {
-                                                        domainValid = checkTernaryMultiplication(Integer.parseInt(domains1),
-                                                                Integer.parseInt(domains2), Integer.parseInt(domains3),
-                                                                Integer.parseInt(value));
-                                                    }
-                                                    if (domainValid) {
-                                                        break;
-                                                    }
-                                                }
-                                            }
-                                            // If the domain was valid
-                                            if (domainValid) {
-                                                // Add it to the list
-                                                newDomain.add(domains1);
-                                                break;
-                                            }
-                                        }
-                                    }
-                                    // If the domain was valid
-                                    if (domainValid) {
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                        // If the domain was valid
-                        if (domainValid) {
-                            break;
-                        }
-                    }
+        for (int i = 0; i < cellGroup.length; i++) {
+            int cell = cellGroup[i];
+            int otherDomains = domain.getDomain(cellGroup[1 - i]);
+            int newDomain = 0;
+
+            // For the list of domains for one cell
+            for (int v = domain.lowestValue(cell); v != 0; v = domain.nextValue(cell, v)) {
+                // If the other cell has the value that divides or multiplies to the correct value
+                if (value != 1 && (((v % value) == 0 && hasValue(otherDomains, v / value))
+                        || hasValue(otherDomains, v * value))) {
+                    newDomain |= KenKenDomain.bit(v);
                 }
             }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cellGroup.get(i), newDomain);
+            if (!replaceDomain(cell, newDomain)) {
+                return false;
             }
         }
+
+        return true;
     }
 
     /**
-     * The method for performing ternary constraint on cells not in a row
+     * The method for performing generalized arc consistency on a cage with its table of combinations. Each value
+     * remembers the last combination that supported it, and the combinations that give the cell that value are only
+     * searched again when one of the values of that combination has been removed.
      * @param cellGroup - The group of cells for a constraint
-     * @param value - The value of the constraint for the math equation
-     * @param sign - The sign for the equation
-     * @param kenKenArray - The current state of the board
+     * @param table - The combinations of values that satisfy the math equation
+     * @param residues - The start of the last supporting combination of each value of each cell, or -1
+     * @return - A boolean that is false if a cell in the cage has no values left
      */
-    private void allNotInRowConstraint(LinkedList<String> cellGroup, String value, String sign, int[][] kenKenArray) {
-        List<String> newDomain;
-        boolean domainValid;
+    private boolean tableRevise(int[] cellGroup, KenKenCageTable table, int[] residues) {
+        int arity = table.getArity();
 
-        // For the cells in the cell group
-        for (int i = 0; i < cellGroup.size(); i++) {
-            newDomain = new LinkedList<>();
-            // If the domain is not already size one and a value has not been assigned
-            if (domain.getKenKenDomain().get(cellGroup.get(i)).size() != 1 &&
-                    kenKenArray[Integer.parseInt(cellGroup.get(i).substring(0, 1))]
-                            [Integer.parseInt(cellGroup.get(i).substring(1, 2))] == 0) {
-                // For the list of domains for one cell
-                for (String domains1 : domain.getKenKenDomain().get(cellGroup.get(i))) {
-                    domainValid = false;
-                    // For the cells in the cell group
-                    for (int j = 0; j < cellGroup.size(); j++) {
-                        // If we are looking at a different element than the first
-                        if (j != i) {
-                            // For the list of domains for one cell
-                            for (String domains2 : domain.getKenKenDomain().get(cellGroup.get(j))) {
-                                // For the cells in the cell group
-                                for (int k = 0; k < cellGroup.size(); k++) {
-                                    // If we are looking at a different element than the first or second
-                                    if (i != k && j != k) {
-                                        // For the list of domains for the other cell
-                                        for (String domains3 : domain.getKenKenDomain().get(cellGroup.get(2-i))) {
-                                            // If the sign was an addition sign
-                                            if (sign.equalsIgnoreCase("+")) {
-                                                domainValid = checkTernaryAddition(Integer.parseInt(domains1),
-                                                        Integer.parseInt(domains2), Integer.parseInt(domains3),
-                                                        Integer.parseInt(value));
-                                            // If the sign was a multiplication sign
-                                            } else if (sign.equalsIgnoreCase("x")) {
-                                                domainValid = checkTernaryMultiplication(Integer.parseInt(domains1),
-                                                        Integer.parseInt(domains2), Integer.parseInt(domains3),
-                                                        Integer.parseInt(value));
-                                            }
-                                            if (domainValid) {
-                                                break;
-                                            }
-                                        }
-                                        // If the domain was valid
-                                        if (domainValid) {
-                                            // Add it to the list
-                                            newDomain.add(domains1);
-                                            break;
-                                        }
-                                    }
-                                }
-                                // If the domain was valid
-                                if (domainValid) {
-                                    break;
-                                }
+        for (int i = 0; i < arity; i++) {
+            tableDomains[i] = domain.getDomain(cellGroup[i]);
+        }
+
+        for (int i = 0; i < arity; i++) {
+            int supported = 0;
+
+            // For the values of the cell
+            for (int v = KenKenDomain.lowestValueOf(tableDomains[i]); v != 0;
+                    v = KenKenDomain.nextValueOf(tableDomains[i], v)) {
+                int key = i * (boardSize + 1) + v;
+
+                // If the last support was lost, look for another one and share it with the other values it has
+                if (residues[key] < 0 || !isValidTuple(table, residues[key])) {
+                    residues[key] = -1;
+                    for (int start: table.getValueTuples(i, v, boardSize)) {
+                        if (isValidTuple(table, start)) {
+                            for (int j = 0; j < arity; j++) {
+                                residues[j * (boardSize + 1) + table.getTuples()[start + j]] = start;
                             }
-                        }
-                        // If the domain was valid
-                        if (domainValid) {
                             break;
                         }
                     }
                 }
+
+                if (residues[key] >= 0) {
+                    supported |= KenKenDomain.bit(v);
+                }
             }
 
-            // If values are added to the newDomain
-            if (newDomain.size() > 0) {
-                domain.getKenKenDomain().replace(cellGroup.get(i), newDomain);
+            tableDomains[i] = supported;
+            if (!replaceDomain(cellGroup[i], supported)) {
+                return false;
             }
         }
+
+        return true;
     }
 
     /**
-     * The method for checking the addition of three cells for the ternary constraint
-     * @param domains1 - The value of the first domain
-     * @param domains2 - The value of the second domain
-     * @param domains3 - The value of the third domain
-     * @param value - The total that needs to be reached
-     * @return - A boolean to show if the equation was valid
+     * The method for checking if every value of a combination is still in the domains of its cells
+     * @param table - The combinations of values that satisfy the math equation
+     * @param start - Where the combination starts in the tuples array
+     * @return - A boolean that is true if the combination is still possible
      */
-    private boolean checkTernaryAddition(int domains1, int domains2, int domains3, int value) {
-        // Return if the domains add up to the correct value
-        return ((domains1 + domains2 + domains3) == value);
+    private boolean isValidTuple(KenKenCageTable table, int start) {
+        int[] tuples = table.getTuples();
+
+        for (int i = 0; i < table.getArity(); i++) {
+            if ((tableDomains[i] & KenKenDomain.bit(tuples[start + i])) == 0) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
-     * The method for checking the multiplication of three cells for the ternary constraint
-     * @param domains1 - The value of the first domain
-     * @param domains2 - The value of the second domain
-     * @param domains3 - The value of the third domain
-     * @param value - The total that needs to be reached
-     * @return - A boolean to show if the equation was valid
+     * The method for checking if a value is in a domain bitmask
+     * @param mask - The domain bitmask
+     * @param value - The value, which may be outside of the board
+     * @return - A boolean that states whether the value is in the domain
      */
-    private boolean checkTernaryMultiplication(int domains1, int domains2, int domains3, int value) {
-        // Return if the domains multiply up to the correct value
-        return ((domains1 * domains2 * domains3) == value);
+    private boolean hasValue(int mask, int value) {
+        return value > 0 && value <= boardSize && (mask & KenKenDomain.bit(value)) != 0;
     }
 
     /**
-     * The method for retrieving the TreeMap containing the constraints
-     * @return - The mathConstraints TreeMap
+     * The method for keeping only the values of a cell's domain that are in the new domain
+     * @param cell - The index of the cell
+     * @param newDomain - The bitmask of the values that are still supported
+     * @return - A boolean that is false if the cell has no values left
      */
-    public TreeMap<String, String[]> getMathConstraints() {
+    private boolean replaceDomain(int cell, int newDomain) {
+        domain.restrict(cell, newDomain);
+
+        return domain.getDomain(cell) != 0;
+    }
+
+    /**
+     * The method for checking if two cells are in the same row or column, since only then do they need different values
+     * @param first - The index of the first cell
+     * @param second - The index of the second cell
+     * @return - A boolean that is true if the cells share a row or column
+     */
+    private boolean sharesLine(int first, int second) {
+        return first / boardSize == second / boardSize || first % boardSize == second % boardSize;
+    }
+
+    /**
+     * The method for retrieving the list of cages containing the constraints
+     * @return - The mathConstraints list
+     */
+    public List<KenKenCage> getMathConstraints() {
         return mathConstraints;
     }
+
+    /**
+     * The method for retrieving the cages of the puzzle file, without the cages implied by the rows and columns
+     * @return - The cages of the puzzle
+     */
+    public List<KenKenCage> getPuzzleCages() {
+        return numOfPuzzleCages < 0 ? mathConstraints : mathConstraints.subList(0, numOfPuzzleCages);
+    }
+
+    /**
+     * The method for retrieving the table of combinations of a cage
+     * @param cageIndex - The index of the cage
+     * @return - The table, or null if the cage does not have one
+     */
+    public KenKenCageTable getCageTable(int cageIndex) {
+        return cageTables.get(cageIndex);
+    }
+
+    /**
+     * The method for retrieving the cages that a cell belongs to
+     * @param cell - The index of the cell
+     * @return - The indexes of the cages in the mathConstraints list
+     */
+    public int[] getCellCages(int cell) {
+        return cellCages[cell];
+    }
 }
@@ -0,0 +1,166 @@
+/**
+ * The KenKenDeduction Class that looks for the cells of the rows and columns whose values are forced before the
+ * search has to guess. A hidden single is a value that only one cell of a line can take, and a naked pair or triple
+ * is a group of two or three cells of a line that only have two or three values between them, so no other cell of
+ * the line can take those values. Both are found with the domain bitmasks of a whole line at once.
+ */
+public class KenKenDeduction {
+    private KenKenDomain domain;
+    private int boardSize;
+    private int[] masks;
+    private int narrowed;
+
+    /**
+     * The constructor for the KenKenDeduction Class
+     * @param d - The domains of the puzzle
+     * @param b - The board size
+     */
+    public KenKenDeduction(KenKenDomain d, int b) {
+        domain = d;
+        boardSize = b;
+        masks = new int[b];
+    }
+
+    /**
+     * The method for narrowing the rows and columns with hidden singles and naked subsets until nothing changes
+     * @return - The number of cells that were left with a single value, or -1 if a line cannot be filled
+     */
+    public int deduce() {
+        int resolved = 0;
+
+        do {
+            narrowed = 0;
+
+            for (int line = 0; line < 2 * boardSize; line++) {
+                // Rows come first, then columns
+                int first = line < boardSize ? line * boardSize : line - boardSize;
+                int step = line < boardSize ? 1 : boardSize;
+
+                int found = findHiddenSingles(first, step);
+                if (found < 0) {
+                    return -1;
+                }
+                resolved += found;
+
+                int removed = findNakedSubsets(first, step);
+                if (removed < 0) {
+                    return -1;
+                }
+                resolved += removed;
+            }
+        // Go over the lines again if any domain was narrowed since that can force more cells
+        } while (narrowed > 0);
+
+        return resolved;
+    }
+
+    /**
+     * The method for placing the values that only have one cell left in a row or column
+     * @param first - The first cell of the row or column
+     * @param step - The distance between two cells of the row or column
+     * @return - The number of cells that were left with a single value, or -1 if a value has no cell
+     */
+    private int findHiddenSingles(int first, int step) {
+        int once = 0;
+        int twice = 0;
+
+        // Find the values that are in at least one and at least two of the domains
+        for (int i = 0; i < boardSize; i++) {
+            masks[i] = domain.getDomain(first + i * step);
+            if (masks[i] == 0) {
+                return -1;
+            }
+            twice |= once & masks[i];
+            once |= masks[i];
+        }
+
+        if (once != KenKenDomain.fullMask(boardSize)) {
+            return -1;
+        }
+
+        int singles = once & ~twice;
+        int resolved = 0;
+
+        for (int i = 0; i < boardSize && singles != 0; i++) {
+            int single = masks[i] & singles;
+
+            // If the cell is the only place for a value but still has other values
+            if (single != 0 && Integer.bitCount(masks[i]) > 1) {
+                // Two values that both need this cell cannot be placed
+                if (Integer.bitCount(single) > 1) {
+                    return -1;
+                }
+                domain.restrict(first + i * step, single);
+                narrowed++;
+                resolved++;
+            }
+            singles &= ~single;
+        }
+
+        return resolved;
+    }
+
+    /**
+     * The method for removing the values of naked pairs and triples from the other cells of a row or column
+     * @param first - The first cell of the row or column
+     * @param step - The distance between two cells of the row or column
+     * @return - The number of cells that were left with a single value, or -1 if a subset has too many cells
+     */
+    private int findNakedSubsets(int first, int step) {
+        int resolved = 0;
+
+        for (int i = 0; i < boardSize; i++) {
+            masks[i] = domain.getDomain(first + i * step);
+        }
+
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = i; j < boardSize; j++) {
+                // A cell on its own, or two cells together, with two or three values between them
+                int subset = masks[i] | masks[j];
+                int size = Integer.bitCount(subset);
+                if (size < 2 || size > 3) {
+                    continue;
+                }
+
+                int inside = 0;
+                for (int k = 0; k < boardSize; k++) {
+                    if ((masks[k] & ~subset) == 0) {
+                        inside++;
+                    }
+                }
+
+                if (inside > size) {
+                    return -1;
+                } else if (inside == size) {
+                    resolved += removeSubset(first, step, subset);
+                }
+            }
+        }
+
+        return resolved;
+    }
+
+    /**
+     * The method for removing the values of a naked subset from the cells of a line that are not part of it
+     * @param first - The first cell of the row or column
+     * @param step - The distance between two cells of the row or column
+     * @param subset - The bitmask of the values of the subset
+     * @return - The number of cells that were left with a single value
+     */
+    private int removeSubset(int first, int step, int subset) {
+        int resolved = 0;
+
+        for (int k = 0; k < boardSize; k++) {
+            if ((masks[k] & ~subset) != 0 && (masks[k] & subset) != 0) {
+                masks[k] &= ~subset;
+                domain.restrict(first + k * step, masks[k]);
+                narrowed++;
+                if (Integer.bitCount(masks[k]) == 1) {
+                    resolved++;
+                }
+            }
+        }
+
+        return resolved;
+    }
+}
@@ -1,6 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -108,45 +109,43 @@ public class KenKenDisplay extends JPanel {
      * @param g - The Graphics component
      */
     public void createInitialBoardDisplay(Graphics g) {
-        TreeSet<String> cellGroup;
-        TreeSet<String> farthestRow = new TreeSet<>();
-        TreeSet<String> farthestCol = new TreeSet<>();
-        TreeSet<String> mostNorthCell = new TreeSet<>();
-
-        // For all of the cell groupings in the mathConstraints TreeMap
-        for(Map.Entry<String,String[]> entry : puzzle.variables.constraints.getMathConstraints().entrySet()) {
-            cellGroup = new TreeSet<>();
-            String[] value = entry.getValue();
-
-            cellGroup.add(entry.getKey());
-            for (int i = 0; i < value.length-1; i++) {
-                cellGroup.add(value[i]);
-            }
+        int boardSize = puzzle.variables.getBoardSize();
+        TreeSet<Integer> farthestRow = new TreeSet<>();
+        TreeSet<Integer> farthestCol = new TreeSet<>();
+        TreeMap<Integer, KenKenCage> mostNorthCell = new TreeMap<>();
+
+        // For all of the cell groupings in the mathConstraints list
+        for (KenKenCage cage: puzzle.variables.constraints.getPuzzleCages()) {
+            int[] cellGroup = cage.getCells();
+            int firstCell = cellGroup[0];
 
             // Add to the farthestCol list
-            farthestCol.addAll(setMathBorders(cellGroup, farthestCol, 0, 1, 1, 2));
+            farthestCol.addAll(setMathBorders(cellGroup, farthestCol, true));
 
             // Add to the farthestRow list
-            farthestRow.addAll(setMathBorders(cellGroup, farthestRow, 1, 2, 0, 1));
+            farthestRow.addAll(setMathBorders(cellGroup, farthestRow, false));
 
             // Get the first cell as the mostNorthCell
-            mostNorthCell.add(cellGroup.first());
+            for (int cells: cellGroup) {
+                firstCell = Math.min(firstCell, cells);
+            }
+            mostNorthCell.put(firstCell, cage);
         }
 
         g.setColor(Color.BLACK);
 
         // For all of the cells in the farthestCol list
-        for (String colDivides: farthestCol) {
-            g.fillRect(start_X + 2 + (cellSize+divWidX) + (cellSize+divWidX) * Integer.parseInt(colDivides.substring(1,2)),
-                    start_Y + 2 + (cellSize+divWidY) * Integer.parseInt(colDivides.substring(0,1)),
+        for (int colDivides: farthestCol) {
+            g.fillRect(start_X + 2 + (cellSize+divWidX) + (cellSize+divWidX) * (colDivides % boardSize),
+                    start_Y + 2 + (cellSize+divWidY) * (colDivides / boardSize),
                     6,
                     56);
         }
 
         // For all of the cells in the farthestRow list
-        for (String rowDivides: farthestRow) {
-            g.fillRect(start_X + 2 + (cellSize+divWidX) * Integer.parseInt(rowDivides.substring(1,2)),
-                    start_Y + 2 + (cellSize+divWidY) + (cellSize+divWidY) * Integer.parseInt(rowDivides.substring(0,1)),
+        for (int rowDivides: farthestRow) {
+            g.fillRect(start_X + 2 + (cellSize+divWidX) * (rowDivides % boardSize),
+                    start_Y + 2 + (cellSize+divWidY) + (cellSize+divWidY) * (rowDivides / boardSize),
                     56,
                     6);
         }
@@ -158,54 +157,35 @@ public class KenKenDisplay extends JPanel {
     /**
      * The method for adding the math equation in the corner cell
      * @param g - The Graphics component
-     * @param mostNorthCell - The TreeSet list containing the mostNorthCells
+     * @param mostNorthCell - The TreeMap containing the mostNorthCells and their cages
      */
-    private void addCornerValue(Graphics g, TreeSet<String> mostNorthCell) {
+    private void addCornerValue(Graphics g, TreeMap<Integer, KenKenCage> mostNorthCell) {
+        int boardSize = puzzle.variables.getBoardSize();
+
         // For the number of cells in the list
-        for (String numberCells: mostNorthCell) {
+        for (Map.Entry<Integer, KenKenCage> entry: mostNorthCell.entrySet()) {
             g.setFont(smallFont);
+            KenKenCage cage = entry.getValue();
             String mathEquation = "";
 
-            // For the number of cell groupings in the mathConstraints TreeMap
-            for(Map.Entry<String,String[]> entry : puzzle.variables.constraints.getMathConstraints().entrySet()) {
-                // If the key equals the mostNorthCell
-                if (entry.getKey().equals(numberCells)) {
-                    for (String cells: entry.getValue()) {
-                        String endChar = cells.substring(cells.length()-1, cells.length());
-                        if (endChar.equals("+") || endChar.equals("-")) {
-                            mathEquation = cells;
-                        } else if (endChar.equalsIgnoreCase("x")) {
-                            mathEquation = cells.substring(0, cells.length()-1) + "x";
-                        } else if (endChar.equals("/")) {
-                            mathEquation = cells.substring(0, cells.length()-1) + "\u00F7";
-                        } else if (endChar.equals("=")) {
-                            mathEquation = cells.substring(0, 1);
-                        }
-                    }
-                } else {
-                    for (String testCells: entry.getValue()) {
-                        if (testCells.equals(numberCells)) {
-                            for (String cells: entry.getValue()) {
-                                String endChar = cells.substring(cells.length()-1, cells.length());
-                                if (endChar.equals("+") || endChar.equals("-")) {
-                                    mathEquation = cells;
-                                } else if (endChar.equalsIgnoreCase("x")) {
-                                    mathEquation = cells.substring(0, cells.length()-1) + "x";
-                                } else if (endChar.equals("/")) {
-                                    mathEquation = cells.substring(0, cells.length()-1) + "\u00F7";
-                                } else if (endChar.equals("=")) {
-                                    mathEquation = cells.substring(0, 1);
-                                }
-                            }
-                        }
-                    }
-                }
+            switch (cage.getOperator()) {
+                case ADD:
+                case SUBTRACT:
+                case MULTIPLY:
+                    mathEquation = "" + cage.getTarget() + cage.getOperator().getSign();
+                    break;
+                case DIVIDE:
+                    mathEquation = cage.getTarget() + "\u00F7";
+                    break;
+                case EQUALS:
+                    mathEquation = "" + cage.getTarget();
+                    break;
             }
 
             // Draw the math equation in the corner of the box
             g.drawString(mathEquation,
-                    (start_X + (cellSize + divWidX) * Integer.parseInt(numberCells.substring(1,2)) + numberOffSet_X),
-                    (start_Y + (cellSize + divWidY) * Integer.parseInt(numberCells.substring(0,1)) + numberOffSet_Y));
+                    (start_X + (cellSize + divWidX) * (entry.getKey() % boardSize) + numberOffSet_X),
+                    (start_Y + (cellSize + divWidY) * (entry.getKey() / boardSize) + numberOffSet_Y));
         }
     }
 
@@ -213,37 +193,30 @@ public class KenKenDisplay extends JPanel {
      * The method for finding the boarders around the individual cell groupings
      * @param cellGroup - The group of cells with the same math constraint
      * @param farthestCell - The list with the farthestCell
-     * @param mb - The beginning value for the substring method
-     * @param me - The ending value for the substring method
-     * @param b - The beginning value for the second substring method
-     * @param e - The ending value for the second substring method
+     * @param sameRow - Whether to look for the farthest column in each row instead of the farthest row in each column
      * @return - The TreeSet with the newest farthest value in it
      */
-    public TreeSet<String> setMathBorders(TreeSet<String> cellGroup, TreeSet<String> farthestCell, int mb, int me, int b, int e) {
-        String tempFarthest;
-
-        for (String initialCell: cellGroup) {
-            tempFarthest = "00";
-            for (String otherCell: cellGroup) {
-                // If either the row of column of the cell equals the other cell's row or column
-                if (initialCell.substring(mb, me).equals(otherCell.substring(mb, me))) {
-                    // If the initial cell is greater than the current one
-                    if (initialCell.substring(b,e).compareTo(otherCell.substring(b,e)) > 0
-                    && initialCell.substring(b,e).compareTo(tempFarthest.substring(b,e)) > 0) {
-                        tempFarthest = initialCell;
-                    // If the other cell is greater than the current one
-                    } else if (otherCell.substring(b,e).compareTo(initialCell.substring(b,e)) > 0
-                    && otherCell.substring(b,e).compareTo(tempFarthest.substring(b,e)) > 0) {
+    public TreeSet<Integer> setMathBorders(int[] cellGroup, TreeSet<Integer> farthestCell, boolean sameRow) {
+        int boardSize = puzzle.variables.getBoardSize();
+        int tempFarthest;
+
+        for (int initialCell: cellGroup) {
+            tempFarthest = initialCell;
+            for (int otherCell: cellGroup) {
+                // If the row or column of the cell equals the other cell's row or column
+                if (sameRow && otherCell / boardSize == initialCell / boardSize) {
+                    // If the other cell is farther than the current one
+                    if (otherCell % boardSize > tempFarthest % boardSize) {
+                        tempFarthest = otherCell;
+                    }
+                } else if (!sameRow && otherCell % boardSize == initialCell % boardSize) {
+                    // If the other cell is farther than the current one
+                    if (otherCell / boardSize > tempFarthest / boardSize) {
                         tempFarthest = otherCell;
                     }
                 }
             }
 
-            // If no farthest cell was found
-            if (tempFarthest.equals("00")) {
-                tempFarthest = initialCell;
-            }
-
             // If the cell is not already in the farthestCell TreeSet
             if (!farthestCell.contains(tempFarthest)) {
                 farthestCell.add(tempFarthest);
@@ -0,0 +1,282 @@
+import java.util.List;
+
+/**
+ * The KenKenDlxSolver Class that solves a puzzle as an exact cover problem with Dancing Links instead of the arc
+ * consistency search. Every cell, every value of a row and every value of a column is a column of the matrix that has
+ * to be covered exactly once, and every value left in the domain of a cell is a row of the matrix that covers its
+ * cell, its value in its row and its value in its column. Covering the columns solves the Latin square part of the
+ * puzzle, so the cages are checked on their own: before a row is chosen, the cages of its cell have to still be
+ * possible with the values given so far.
+ *
+ * The matrix is kept as four arrays of links, and a column is covered by taking its rows out of the other columns
+ * they are in and put back in the reverse order when the search backtracks. The column with the fewest rows left is
+ * always covered next.
+ */
+public class KenKenDlxSolver implements KenKenSearchEngine {
+    private KenKenPuzzle puzzle;
+    private KenKenVariables variables;
+    private int boardSize;
+
+    private int[] left;
+    private int[] right;
+    private int[] up;
+    private int[] down;
+    private int[] columns;
+    private int[] sizes;
+    private int[] rowCells;
+    private int[] rowValues;
+
+    private int[] board;
+    private int[] cageValues;
+    private long nodes = 0;
+
+    /**
+     * The constructor for the KenKenDlxSolver Class
+     * @param p - The puzzle, already read from its file
+     */
+    public KenKenDlxSolver(KenKenPuzzle p) {
+        puzzle = p;
+        variables = p.variables;
+        boardSize = variables.getBoardSize();
+    }
+
+    /**
+     * The method for solving the puzzle. The constraints are propagated once before the matrix is built, so it only
+     * has rows for the values that are left after that, and the board of the puzzle is not changed.
+     * @return - The solved board, or null if the puzzle has no solution
+     */
+    @Override
+    public int[][] solve() {
+        if (!variables.removeMathValues()) {
+            return null;
+        }
+
+        build();
+        board = new int[boardSize * boardSize];
+
+        // One buffer sized to the largest cage holds the values of each cage as it is checked
+        int largest = 0;
+        for (KenKenCage cage: variables.constraints.getMathConstraints()) {
+            largest = Math.max(largest, cage.size());
+        }
+        cageValues = new int[largest];
+
+        if (!search()) {
+            return null;
+        }
+
+        int[][] solution = new int[boardSize][boardSize];
+        for (int cell = 0; cell < board.length; cell++) {
+            solution[cell / boardSize][cell % boardSize] = board[cell];
+        }
+
+        return solution;
+    }
+
+    /**
+     * The method for retrieving the puzzle being solved
+     * @return - The puzzle
+     */
+    @Override
+    public KenKenPuzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * The method for retrieving how many search nodes were visited
+     * @return - The number of nodes
+     */
+    @Override
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * The method for covering the column with the fewest rows and trying each of its rows until the matrix is empty
+     * @return - A boolean that is true if every column was covered
+     */
+    private boolean search() {
+        nodes++;
+
+        // The header links every column that is not covered yet
+        if (right[0] == 0) {
+            return true;
+        }
+
+        int column = right[0];
+        for (int c = right[column]; c != 0; c = right[c]) {
+            if (sizes[c] < sizes[column]) {
+                column = c;
+            }
+        }
+        if (sizes[column] == 0) {
+            return false;
+        }
+
+        cover(column);
+        for (int node = down[column]; node != column; node = down[node]) {
+            int cell = rowCells[node];
+            int value = rowValues[node];
+
+            // Skip the row if a cage of its cell can no longer be satisfied
+            board[cell] = value;
+            if (!cagesPossible(cell)) {
+                board[cell] = 0;
+                continue;
+            }
+
+            for (int other = right[node]; other != node; other = right[other]) {
+                cover(columns[other]);
+            }
+            if (search()) {
+                return true;
+            }
+            for (int other = left[node]; other != node; other = left[other]) {
+                uncover(columns[other]);
+            }
+            board[cell] = 0;
+        }
+        uncover(column);
+
+        return false;
+    }
+
+    /**
+     * The method for taking a column out of the header and its rows out of the other columns
+     * @param column - The column
+     */
+    private void cover(int column) {
+        right[left[column]] = right[column];
+        left[right[column]] = left[column];
+
+        for (int row = down[column]; row != column; row = down[row]) {
+            for (int node = right[row]; node != row; node = right[node]) {
+                down[up[node]] = down[node];
+                up[down[node]] = up[node];
+                sizes[columns[node]]--;
+            }
+        }
+    }
+
+    /**
+     * The method for putting a column and its rows back, in the reverse order they were taken out
+     * @param column - The column
+     */
+    private void uncover(int column) {
+        for (int row = up[column]; row != column; row = up[row]) {
+            for (int node = left[row]; node != row; node = left[node]) {
+                sizes[columns[node]]++;
+                down[up[node]] = node;
+                up[down[node]] = node;
+            }
+        }
+
+        right[left[column]] = column;
+        left[right[column]] = column;
+    }
+
+    /**
+     * The method for checking that the cages of a cell can still be satisfied by the values given so far
+     * @param cell - The index of the cell that was just given a value
+     * @return - A boolean that is true if every cage of the cell is still possible
+     */
+    private boolean cagesPossible(int cell) {
+        List<KenKenCage> cages = variables.constraints.getMathConstraints();
+
+        for (int cageIndex: variables.constraints.getCellCages(cell)) {
+            KenKenCage cage = cages.get(cageIndex);
+            int filled = 0;
+            long sum = 0;
+            long product = 1;
+
+            for (int other: cage.getCells()) {
+                if (board[other] != 0) {
+                    cageValues[filled++] = board[other];
+                    sum += board[other];
+                    product *= board[other];
+                }
+            }
+
+            if (filled == cage.size()) {
+                if (!KenKenCageTable.satisfies(cage, cageValues, filled)) {
+                    return false;
+                }
+                continue;
+            }
+
+            // With some cells still empty, only the sums and products can be bounded
+            int empty = cage.size() - filled;
+            if (cage.getOperator() == KenKenCage.Operator.ADD
+                    && (sum + empty > cage.getTarget() || sum + (long) empty * boardSize < cage.getTarget())) {
+                return false;
+            } else if (cage.getOperator() == KenKenCage.Operator.MULTIPLY && cage.getTarget() % product != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for building the matrix from the domains of the puzzle
+     */
+    private void build() {
+        int cells = boardSize * boardSize;
+        int columnCount = 3 * cells;
+        int rows = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            rows += variables.domain.size(cell);
+        }
+
+        // The header and the columns come first, then three nodes for each row
+        int nodeCount = columnCount + 1 + 3 * rows;
+        left = new int[nodeCount];
+        right = new int[nodeCount];
+        up = new int[nodeCount];
+        down = new int[nodeCount];
+        columns = new int[nodeCount];
+        sizes = new int[columnCount + 1];
+        rowCells = new int[nodeCount];
+        rowValues = new int[nodeCount];
+
+        for (int column = 0; column <= columnCount; column++) {
+            left[column] = column == 0 ? columnCount : column - 1;
+            right[column] = column == columnCount ? 0 : column + 1;
+            up[column] = column;
+            down[column] = column;
+        }
+
+        int node = columnCount + 1;
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / boardSize;
+            int col = cell % boardSize;
+
+            for (int value = variables.domain.lowestValue(cell); value != 0;
+                    value = variables.domain.nextValue(cell, value)) {
+                // The cell, the value in its row and the value in its column
+                int[] covered = {
+                        1 + cell,
+                        1 + cells + row * boardSize + value - 1,
+                        1 + 2 * cells + col * boardSize + value - 1
+                };
+
+                for (int i = 0; i < 3; i++) {
+                    int current = node + i;
+                    left[current] = node + (i + 2) % 3;
+                    right[current] = node + (i + 1) % 3;
+                    columns[current] = covered[i];
+                    rowCells[current] = cell;
+                    rowValues[current] = value;
+
+                    // Add the node to the bottom of its column
+                    up[current] = up[covered[i]];
+                    down[current] = covered[i];
+                    down[up[covered[i]]] = current;
+                    up[covered[i]] = current;
+                    sizes[covered[i]]++;
+                }
+                node += 3;
+            }
+        }
+    }
+}
@@ -1,28 +1,45 @@
-import java.util.List;
-import java.util.TreeMap;
+import java.util.InputMismatchException;
 
 /**
  * @author Rachel Feddersen
  *
  * @since Date Started: 3/08/2016 - Date Finished: 3/26/2016
  *
- * The KenKenDomain Class that contains the TreeMap holding all of the cells and their current domains.
+ * The KenKenDomain Class that contains the current domains of all of the cells. Each domain is stored as a bitmask
+ * where bit v is set when the value v is still possible for the cell, so no lists are built while pruning.
  */
 public class KenKenDomain {
-    private TreeMap<String, List<String>> kenKenDomain = new TreeMap<>();
+    private int[] domainMasks;
+    private boolean[] cellsRead;
+    private KenKenTrail trail;
+    private KenKenPropagator propagator;
+    private KenKenVariableOrder order;
+    private KenKenExplanations explanations;
+
+    private int boardSize;
+
+    /**
+     * The constructor for the KenKenDomain Class
+     * @param b - The board size
+     */
+    public KenKenDomain(int b) {
+        boardSize = b;
+        domainMasks = new int[b * b];
+        cellsRead = new boolean[b * b];
+    }
 
     /**
-     * The method for setting the initial domain of the kenKenDomain
-     * @param values - The list of cells and rows to be added to the TreeMap
-     * @param domain - The list of domains that are possible for the cells
+     * The method for setting the initial domain of the cells
+     * @param values - The list of cells and rows to be added to the domain
      */
-    public void setInitialDomain(String[] values, List<String> domain) {
+    public void setInitialDomain(String[] values) {
 
         int numOfCells = (int) Math.floor(values.length/2);
 
         for (int j = 0; j < numOfCells; j++) {
-            String cell = values[j*2] + values[(j*2)+1];
-            getKenKenDomain().put(cell, domain);
+            int cell = getCellIndex(Integer.parseInt(values[j*2]), Integer.parseInt(values[(j*2)+1]));
+            domainMasks[cell] = fullMask(boardSize);
+            cellsRead[cell] = true;
         }
     }
 
@@ -34,11 +51,9 @@ public class KenKenDomain {
     public boolean checkAllCellsThere(int boardSize) {
         boolean invalidFile = false;
 
-        for (int row = 0; row < boardSize; row++) {
-            for (int col = 0; col < boardSize; col++) {
-                if (!getKenKenDomain().containsKey(""+row+col)) {
-                    invalidFile = true;
-                }
+        for (int cell = 0; cell < boardSize * boardSize; cell++) {
+            if (!cellsRead[cell]) {
+                invalidFile = true;
             }
         }
 
@@ -46,10 +61,210 @@ public class KenKenDomain {
     }
 
     /**
-     * The method for retrieving the current state of the kenKenDomain
-     * @return - The current state of the kenKenDomain
+     * The method for retrieving the index of a cell from its row and column
+     * @param row - The row of the cell
+     * @param col - The column of the cell
+     * @return - The index of the cell
+     */
+    public int getCellIndex(int row, int col) {
+        if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+            throw new InputMismatchException("Cell " + row + " " + col + " is not on the board");
+        }
+
+        return row * boardSize + col;
+    }
+
+    /**
+     * The method for retrieving the number of cells in the puzzle
+     * @return - The number of cells
+     */
+    public int getNumOfCells() {
+        return domainMasks.length;
+    }
+
+    /**
+     * The method for retrieving the domain bitmask of a cell
+     * @param cell - The index of the cell
+     * @return - The bitmask of the values still possible for the cell
+     */
+    public int getDomain(int cell) {
+        return domainMasks[cell];
+    }
+
+    /**
+     * The method for replacing the domain of a cell
+     * @param cell - The index of the cell
+     * @param mask - The new bitmask for the cell
+     */
+    public void setDomain(int cell, int mask) {
+        if (domainMasks[cell] == mask) {
+            return;
+        }
+
+        if (trail != null) {
+            trail.recordDomain(cell, domainMasks[cell]);
+        }
+
+        // If values were removed, blame the removal on the decisions behind it
+        if (explanations != null && (domainMasks[cell] & ~mask) != 0) {
+            explanations.removalMade(cell);
+        }
+
+        domainMasks[cell] = mask;
+
+        // Let the propagator know which constraints have to be revised again
+        if (propagator != null) {
+            propagator.cellChanged(cell);
+        }
+        if (order != null) {
+            order.update(cell);
+        }
+    }
+
+    /**
+     * The method for putting back the domain of a cell when the trail is undone
+     * @param cell - The index of the cell
+     * @param mask - The bitmask recorded on the trail
+     */
+    void restoreDomain(int cell, int mask) {
+        domainMasks[cell] = mask;
+
+        if (order != null) {
+            order.update(cell);
+        }
+    }
+
+    /**
+     * The method for setting the trail that records the domain changes during the search
+     * @param t - The trail
+     */
+    public void setTrail(KenKenTrail t) {
+        trail = t;
+    }
+
+    /**
+     * The method for setting the propagator that is told about the domain changes
+     * @param p - The propagator
+     */
+    public void setPropagator(KenKenPropagator p) {
+        propagator = p;
+    }
+
+    /**
+     * The method for setting the explanations that record which decisions each domain depends on
+     * @param e - The explanations
+     */
+    public void setExplanations(KenKenExplanations e) {
+        explanations = e;
+    }
+
+    /**
+     * The method for setting the variable order that keeps the cells in buckets by their domain sizes
+     * @param o - The variable order
+     */
+    public void setVariableOrder(KenKenVariableOrder o) {
+        order = o;
+    }
+
+    /**
+     * The method for retrieving the number of values left in the domain of a cell
+     * @param cell - The index of the cell
+     * @return - The size of the domain
+     */
+    public int size(int cell) {
+        return Integer.bitCount(domainMasks[cell]);
+    }
+
+    /**
+     * The method for checking if a value is still in the domain of a cell
+     * @param cell - The index of the cell
+     * @param value - The value being checked
+     * @return - A boolean that states whether the value is in the domain
+     */
+    public boolean contains(int cell, int value) {
+        return (domainMasks[cell] & bit(value)) != 0;
+    }
+
+    /**
+     * The method for retrieving the smallest value in the domain of a cell
+     * @param cell - The index of the cell
+     * @return - The smallest value, or 0 if the domain is empty
+     */
+    public int lowestValue(int cell) {
+        return lowestValueOf(domainMasks[cell]);
+    }
+
+    /**
+     * The method for retrieving the next value in the domain of a cell after the given value
+     * @param cell - The index of the cell
+     * @param value - The value to start after
+     * @return - The next larger value, or 0 if there is none
+     */
+    public int nextValue(int cell, int value) {
+        return nextValueOf(domainMasks[cell], value);
+    }
+
+    /**
+     * The method for removing a value from the domain of a cell
+     * @param cell - The index of the cell
+     * @param value - The value to remove
+     * @return - A boolean to indicate if the domain changed
+     */
+    public boolean remove(int cell, int value) {
+        return restrict(cell, ~bit(value));
+    }
+
+    /**
+     * The method for keeping only the values of a cell's domain that are also in the given mask
+     * @param cell - The index of the cell
+     * @param mask - The bitmask of the values that are allowed
+     * @return - A boolean to indicate if the domain changed
+     */
+    public boolean restrict(int cell, int mask) {
+        int newMask = domainMasks[cell] & mask;
+
+        if (newMask != domainMasks[cell]) {
+            setDomain(cell, newMask);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for retrieving the bit that represents a value
+     * @param value - The value
+     * @return - The bitmask with only that value set
+     */
+    public static int bit(int value) {
+        return 1 << value;
+    }
+
+    /**
+     * The method for retrieving the bitmask with all of the values of the board set
+     * @param boardSize - The board size
+     * @return - The bitmask with the values 1 through boardSize set
+     */
+    public static int fullMask(int boardSize) {
+        return ((1 << (boardSize + 1)) - 1) & ~1;
+    }
+
+    /**
+     * The method for retrieving the smallest value in a bitmask
+     * @param mask - The bitmask
+     * @return - The smallest value, or 0 if the mask is empty
+     */
+    public static int lowestValueOf(int mask) {
+        return mask == 0 ? 0 : Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * The method for retrieving the next value in a bitmask after the given value
+     * @param mask - The bitmask
+     * @param value - The value to start after
+     * @return - The next larger value, or 0 if there is none
      */
-    public TreeMap<String, List<String>> getKenKenDomain() {
-        return kenKenDomain;
+    public static int nextValueOf(int mask, int value) {
+        return lowestValueOf(mask & (-2 << value));
     }
 }
@@ -1,9 +1,9 @@
 import javax.swing.*;
 import java.awt.event.*;
 import java.io.File;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Rachel Feddersen
@@ -17,9 +17,9 @@ public class KenKenDriver extends JFrame {
     int win_hei = 300;
     boolean solvingWithConst = false;
     boolean solvingWithOutConst = false;
-    private List<String> smallestDomains = new LinkedList<>();
-    private List<String> assignedOrder = new LinkedList<>();
-    private int domainSize = 1;
+    private List<Integer> smallestDomains = new LinkedList<>();
+    private List<Integer> assignedOrder = new LinkedList<>();
+    private int[] deducedCells = new int[16];
 
     KenKenPuzzle puzzle;
     KenKenDisplay display;
@@ -206,17 +206,15 @@ public class KenKenDriver extends JFrame {
                 // Reset values
                 solvingWithConst = false;
                 solvingWithOutConst = false;
-                domainSize = 1;
+                deducedCells = new int[16];
                 smallestDomains = new LinkedList<>();
                 assignedOrder = new LinkedList<>();
                 // If the user clicks on the solveWithConst option
             } else if (e.getSource() == solveWithConst) {
                 solvingWithConst = true;
-                domainSize = 1;
                 // If the user clicks on the solveWithOutConst option
             } else if (e.getSource() == solveWithOutConst) {
                 solvingWithOutConst = true;
-                domainSize = 1;
             }
 
             // Call method to enable options
@@ -312,7 +310,17 @@ public class KenKenDriver extends JFrame {
      * @return - Whether any values were removed from the domain or not
      */
     public boolean doWithConstraint() {
-        puzzle.variables.removeMathValues();
+        // If the propagation left a cell without any values, the last search assignment was wrong
+        if (!puzzle.variables.removeMathValues()) {
+            return backTrackSearch();
+        }
+
+        // Narrow the rows and columns with hidden singles and naked subsets, then propagate what they removed
+        int resolved = puzzle.variables.deduction.deduce();
+        if (resolved < 0 || (resolved > 0 && !puzzle.variables.removeMathValues())) {
+            return backTrackSearch();
+        }
+        countDeducedCells(resolved);
 
         return constraintSearch();
     }
@@ -323,21 +331,38 @@ public class KenKenDriver extends JFrame {
     public void doWithOutConstraint() {
         // If there are no cells in the smallestDomains list
         if (smallestDomains.size() == 0) {
-            do {
-                // Increase the current domainSize
-                domainSize += 1;
-                for(Map.Entry<String, List<String>> entry : puzzle.variables.domain.getKenKenDomain().entrySet()) {
-                    // If the entries domains are of that size
-                    if (entry.getValue().size() == domainSize) {
-                        smallestDomains.add(entry.getKey());
-                    }
-                }
-            } while (smallestDomains.size() == 0);
+            // Pick the empty cell with the smallest domain, breaking ties by degree and cage tightness. Without the
+            // constraints nothing is propagated and every domain stays full, so take the first empty cell instead,
+            // which fills the board row by row and lets the cages be checked as soon as their cells are filled in
+            int cell = solvingWithConst ? puzzle.variables.order.chooseCell() : firstEmptyCell();
+
+            // If the only cells left have no values in their domains, the last assignment was wrong
+            if (cell < 0) {
+                backTrackSearch();
+            } else {
+                smallestDomains.add(cell);
+            }
         } else {
             performSearch();
         }
     }
 
+    /**
+     * The method for finding the first empty cell, going across each row from the top
+     * @return - The index of the cell, or -1 if every cell has a value
+     */
+    private int firstEmptyCell() {
+        int boardSize = puzzle.variables.getBoardSize();
+
+        for (int cell = 0; cell < puzzle.variables.domain.getNumOfCells(); cell++) {
+            if (puzzle.variables.getKenKenArray()[cell / boardSize][cell % boardSize] == 0) {
+                return cell;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * The method for doing the constraint search
      * @return - Whether any values were removed from the domain or not
@@ -346,18 +371,18 @@ public class KenKenDriver extends JFrame {
         boolean valuesRemoved = false;
 
         // For all of the cells in the puzzle
-        for(Map.Entry<String, List<String>> entry : puzzle.variables.domain.getKenKenDomain().entrySet()) {
+        for (int cell = 0; cell < puzzle.variables.domain.getNumOfCells(); cell++) {
             // If they only have a single value in the domain
-            if (entry.getValue().size() == 1) {
+            if (puzzle.variables.domain.size(cell) == 1) {
                 // Get their row and column
-                String row = entry.getKey().substring(0, 1),
-                       col = entry.getKey().substring(1, 2);
+                int row = cell / puzzle.variables.getBoardSize(),
+                    col = cell % puzzle.variables.getBoardSize();
                 // If there is not already a value assigned to that spot in the puzzle
-                if (puzzle.variables.getKenKenArray()[Integer.parseInt(row)][Integer.parseInt(col)] == 0) {
+                if (puzzle.variables.getKenKenArray()[row][col] == 0) {
                     // Perform node consistency and assign the value
-                    puzzle.variables.performNodeConsistency(row, col, entry.getValue().get(0));
-                    puzzle.variables.getKenKenArray()[Integer.parseInt(row)][Integer.parseInt(col)]
-                           = Integer.parseInt(entry.getValue().get(0).substring(0, 1));
+                    int value = puzzle.variables.domain.lowestValue(cell);
+                    puzzle.variables.performNodeConsistency(row, col, value);
+                    puzzle.variables.setCellValue(row, col, value);
                     valuesRemoved = true;
                     break;
                 }
@@ -371,49 +396,104 @@ public class KenKenDriver extends JFrame {
      * The method for performing the search on the puzzle
      */
     public void performSearch() {
-        boolean backTrack;
-
         // Add the first entry from the smallestDomains list to the assignedOrder list and remove that entry
         assignedOrder.add(smallestDomains.get(0));
         smallestDomains.remove(0);
-        String curCell = assignedOrder.get(assignedOrder.size()-1);
+        int curCell = assignedOrder.get(assignedOrder.size()-1);
+        int boardSize = puzzle.variables.getBoardSize();
+
+        // Open a decision level so the assignment and anything pruned after it can be undone
+        puzzle.variables.trail.pushLevel();
 
         // Make sure to chose a valid domain from the cells current domain
         puzzle.chooseValidDomain(curCell);
 
         // If there is not anything assigned to the spot in the puzzle
-        if (puzzle.variables.getKenKenArray()[Integer.parseInt(curCell.substring(0, 1))][Integer.parseInt(curCell.substring(1, 2))] == 0) {
-            // Enable backtracking
-            backTrack = true;
-            int currentVal;
+        if (puzzle.variables.getKenKenArray()[curCell / boardSize][curCell % boardSize] == 0) {
+            // Close the level of the failed assignment
+            popLevel();
 
             // Add the last cell from the assignedOrder list to the beginning of the smallestDomains list
             smallestDomains.add(0, assignedOrder.get(assignedOrder.size()-1));
             assignedOrder.remove(assignedOrder.size()-1);
 
-            // While backTrack is true
-            while(backTrack) {
-                // Add the last cell from the assignedOrder list to the beginning of the smallestDomains list
-                smallestDomains.add(0, assignedOrder.get(assignedOrder.size()-1));
-                assignedOrder.remove(assignedOrder.size()-1);
+            backTrackSearch();
+        }
+    }
 
-                currentVal = puzzle.variables.getKenKenArray()[Integer.parseInt(smallestDomains.get(0).substring(0, 1))]
-                        [Integer.parseInt(smallestDomains.get(0).substring(1, 2))];
+    /**
+     * The method for undoing the search assignments until one of the assigned cells can take its next value
+     * @return - Whether there was an assignment to undo
+     */
+    public boolean backTrackSearch() {
+        boolean backTrack = assignedOrder.size() > 0;
+        boolean undone = backTrack;
+        int boardSize = puzzle.variables.getBoardSize();
+        int currentVal;
+
+        // While backTrack is true
+        while(backTrack && assignedOrder.size() > 0) {
+            // Add the last cell from the assignedOrder list to the beginning of the smallestDomains list
+            smallestDomains.add(0, assignedOrder.get(assignedOrder.size()-1));
+            assignedOrder.remove(assignedOrder.size()-1);
 
-                // Reset this cell assignment
-                puzzle.variables.getKenKenArray()[Integer.parseInt(smallestDomains.get(0).substring(0, 1))]
-                        [Integer.parseInt(smallestDomains.get(0).substring(1, 2))] = 0;
+            currentVal = puzzle.variables.getKenKenArray()[smallestDomains.get(0) / boardSize]
+                    [smallestDomains.get(0) % boardSize];
 
-                backTrack = puzzle.doBackTracking(currentVal, smallestDomains);
+            // Reset this cell assignment along with the domains pruned since it was made
+            popLevel();
+            puzzle.variables.trail.pushLevel();
 
-                // If backTrack is not longer true
-                if (!backTrack) {
-                    // Add the first entry from the smallestDomains list to the assignedOrder list and remove that entry
-                    assignedOrder.add(smallestDomains.get(0));
-                    smallestDomains.remove(0);
-                }
+            backTrack = puzzle.doBackTracking(currentVal, smallestDomains);
+
+            // If backTrack is not longer true
+            if (!backTrack) {
+                // Add the first entry from the smallestDomains list to the assignedOrder list and remove that entry
+                assignedOrder.add(smallestDomains.get(0));
+                smallestDomains.remove(0);
+            } else {
+                // Close the level of the failed assignment
+                popLevel();
             }
         }
+
+        return undone;
+    }
+
+    /**
+     * The method for adding to the cells found by deduction in the current decision level
+     * @param resolved - The number of cells that deduction resolved
+     */
+    private void countDeducedCells(int resolved) {
+        int level = puzzle.variables.trail.getLevel();
+        if (level >= deducedCells.length) {
+            deducedCells = Arrays.copyOf(deducedCells, Math.max(deducedCells.length * 2, level + 1));
+        }
+        deducedCells[level] += resolved;
+    }
+
+    /**
+     * The method for undoing the current decision level along with the cells deduction found in it
+     */
+    private void popLevel() {
+        int level = puzzle.variables.trail.getLevel();
+        if (level < deducedCells.length) {
+            deducedCells[level] = 0;
+        }
+        puzzle.variables.trail.popLevel();
+    }
+
+    /**
+     * The method for counting the cells found by deduction on the assignments that are still in place
+     * @return - The number of cells
+     */
+    int getDeducedCells() {
+        int total = 0;
+        for (int level = 0; level <= puzzle.variables.trail.getLevel() && level < deducedCells.length; level++) {
+            total += deducedCells[level];
+        }
+
+        return total;
     }
 
     /**
@@ -447,7 +527,8 @@ public class KenKenDriver extends JFrame {
     private void createSolveMessage() {
         // Open table in message dialog
         JOptionPane.showMessageDialog(null,
-                "The puzzle has been solved! Please pick a new puzzle to try again or exit the program.",
+                "The puzzle has been solved! " + getDeducedCells() + " cells were found by deduction.\n" +
+                        "Please pick a new puzzle to try again or exit the program.",
                 "Solved Message",
                 JOptionPane.INFORMATION_MESSAGE);
     }
@@ -0,0 +1,220 @@
+import java.util.Arrays;
+
+/**
+ * The KenKenExplanations Class that keeps track of which decisions each domain depends on so the search can jump
+ * back to the decision that caused a failure. Every cell has the set of decision levels that removed values from its
+ * domain. A value removed while revising a constraint is blamed on the levels of every cell of that constraint, so
+ * the sets can hold more levels than the real cause but never fewer. The sets are saved the first time they change
+ * in a level and put back when the trail is undone.
+ */
+public class KenKenExplanations {
+    private KenKenVariables variables;
+    private int boardSize;
+    private int words;
+
+    private long[][] explanations;
+    private long[] reason;
+    private long[] conflict;
+
+    private int[] savedCells = new int[64];
+    private long[][] savedSets = new long[64][];
+    private int[] savedLevels = new int[64];
+    private int savedSize = 0;
+    private int[] lastSaved;
+
+    /**
+     * The constructor for the KenKenExplanations Class
+     * @param v - The variables with the domains and constraints of the puzzle
+     */
+    public KenKenExplanations(KenKenVariables v) {
+        variables = v;
+        boardSize = v.getBoardSize();
+
+        // There is at most one decision level for each cell, plus the level before the first decision
+        words = (boardSize * boardSize + 1) / 64 + 1;
+        explanations = new long[boardSize * boardSize][words];
+        reason = new long[words];
+        conflict = new long[words];
+        lastSaved = new int[boardSize * boardSize];
+        Arrays.fill(lastSaved, -1);
+    }
+
+    /**
+     * The method for blaming the next removals on a single decision
+     * @param level - The decision level
+     */
+    public void setDecision(int level) {
+        Arrays.fill(reason, 0);
+        add(reason, level);
+    }
+
+    /**
+     * The method for blaming the next removals on the levels of every cell of a constraint
+     * @param id - The constraint, numbered like in the propagator
+     */
+    public void setRevision(int id) {
+        Arrays.fill(reason, 0);
+        collect(id, reason);
+    }
+
+    /**
+     * The method for recording that a value was removed from a cell for the current reason
+     * @param cell - The index of the cell
+     */
+    public void removalMade(int cell) {
+        int level = variables.trail.getLevel();
+
+        // Save the set the first time it changes in this level so it can be put back
+        if (level > 0 && (lastSaved[cell] < 0 || lastSaved[cell] >= savedSize || savedCells[lastSaved[cell]] != cell
+                || savedLevels[lastSaved[cell]] != level)) {
+            if (savedSize == savedCells.length) {
+                savedCells = Arrays.copyOf(savedCells, savedSize * 2);
+                savedSets = Arrays.copyOf(savedSets, savedSize * 2);
+                savedLevels = Arrays.copyOf(savedLevels, savedSize * 2);
+            }
+            savedCells[savedSize] = cell;
+            savedSets[savedSize] = explanations[cell].clone();
+            savedLevels[savedSize] = level;
+            lastSaved[cell] = savedSize;
+            savedSize++;
+        }
+
+        for (int w = 0; w < words; w++) {
+            explanations[cell][w] |= reason[w];
+        }
+    }
+
+    /**
+     * The method for recording the failure of a constraint, which is blamed on the levels of all of its cells
+     * @param id - The constraint, numbered like in the propagator
+     */
+    public void revisionFailed(int id) {
+        Arrays.fill(conflict, 0);
+        collect(id, conflict);
+    }
+
+    /**
+     * The method for recording a failure that has to be blamed on every decision made so far
+     */
+    public void blameAll() {
+        Arrays.fill(conflict, 0);
+        for (int level = 1; level <= variables.trail.getLevel(); level++) {
+            add(conflict, level);
+        }
+    }
+
+    /**
+     * The method for recording a failure that is blamed on a set of levels
+     * @param levels - The set of decision levels
+     */
+    public void blameLevels(long[] levels) {
+        System.arraycopy(levels, 0, conflict, 0, words);
+    }
+
+    /**
+     * The method for recording a failure caused by the domains of a group of cells
+     * @param cells - The indexes of the cells
+     */
+    public void blameCells(int[] cells) {
+        Arrays.fill(conflict, 0);
+        for (int cell: cells) {
+            union(conflict, explanations[cell]);
+        }
+    }
+
+    /**
+     * The method for putting back the sets that changed after a decision level
+     * @param level - The decision level that was gone back to
+     */
+    public void backtrackTo(int level) {
+        while (savedSize > 0 && savedLevels[savedSize - 1] > level) {
+            savedSize--;
+            explanations[savedCells[savedSize]] = savedSets[savedSize];
+            savedSets[savedSize] = null;
+        }
+    }
+
+    /**
+     * The method for retrieving the levels blamed for the last failure
+     * @return - The set of decision levels, which is overwritten by the next failure
+     */
+    public long[] getConflict() {
+        return conflict;
+    }
+
+    /**
+     * The method for retrieving the levels that removed values from a cell
+     * @param cell - The index of the cell
+     * @return - The set of decision levels
+     */
+    public long[] getExplanation(int cell) {
+        return explanations[cell];
+    }
+
+    /**
+     * The method for creating an empty set of decision levels
+     * @return - The empty set
+     */
+    public long[] newSet() {
+        return new long[words];
+    }
+
+    /**
+     * The method for adding the levels of every cell of a constraint to a set
+     * @param id - The constraint, numbered like in the propagator
+     * @param set - The set of decision levels
+     */
+    private void collect(int id, long[] set) {
+        // If it is a row or a column
+        if (id < 2 * boardSize) {
+            int first = id < boardSize ? id * boardSize : id - boardSize;
+            int step = id < boardSize ? 1 : boardSize;
+            for (int i = 0; i < boardSize; i++) {
+                union(set, explanations[first + i * step]);
+            }
+        } else {
+            for (int cell: variables.constraints.getMathConstraints().get(id - 2 * boardSize).getCells()) {
+                union(set, explanations[cell]);
+            }
+        }
+    }
+
+    /**
+     * The method for adding a level to a set
+     * @param set - The set of decision levels
+     * @param level - The decision level
+     */
+    public static void add(long[] set, int level) {
+        set[level >> 6] |= 1L << (level & 63);
+    }
+
+    /**
+     * The method for taking a level out of a set
+     * @param set - The set of decision levels
+     * @param level - The decision level
+     */
+    public static void remove(long[] set, int level) {
+        set[level >> 6] &= ~(1L << (level & 63));
+    }
+
+    /**
+     * The method for checking if a level is in a set
+     * @param set - The set of decision levels
+     * @param level - The decision level
+     * @return - A boolean that is true if the level is in the set
+     */
+    public static boolean contains(long[] set, int level) {
+        return (set[level >> 6] & (1L << (level & 63))) != 0;
+    }
+
+    /**
+     * The method for adding all of the levels of one set to another
+     * @param set - The set being added to
+     * @param other - The set being added
+     */
+    public static void union(long[] set, long[] other) {
+        for (int w = 0; w < set.length; w++) {
+            set[w] |= other[w];
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.Arrays;
+
+/**
+ * The KenKenNogoods Class that remembers combinations of decisions the search has already found to fail, so the
+ * same dead end is not searched again. A nogood is a list of cells and values that cannot all hold at once. The
+ * store keeps a fixed number of them and writes over the oldest one when it is full.
+ */
+public class KenKenNogoods {
+    /**
+     * The largest number of decisions in a nogood that is worth keeping
+     */
+    public static final int MAX_NOGOOD_SIZE = 8;
+
+    private int boardSize;
+    private int capacity;
+
+    private int[][] nogoodCells;
+    private int[][] nogoodValues;
+    private int next = 0;
+    private int size = 0;
+    private long added = 0;
+    private long hits = 0;
+
+    private int[][] watches;
+    private int[] watchSizes;
+
+    /**
+     * The constructor for the KenKenNogoods Class
+     * @param b - The board size
+     * @param c - The largest number of nogoods kept
+     */
+    public KenKenNogoods(int b, int c) {
+        boardSize = b;
+        capacity = c;
+        nogoodCells = new int[c][];
+        nogoodValues = new int[c][];
+
+        // Every decision has the list of nogoods it is in, indexed like the values of the domains
+        watches = new int[b * b * (b + 1)][];
+        watchSizes = new int[b * b * (b + 1)];
+    }
+
+    /**
+     * The method for adding a nogood, writing over the oldest one if the store is full
+     * @param cells - The indexes of the cells of the decisions
+     * @param values - The values of the decisions
+     * @return - A boolean that is false if the nogood was too long to keep
+     */
+    public boolean add(int[] cells, int[] values) {
+        if (cells.length == 0 || cells.length > MAX_NOGOOD_SIZE || capacity == 0) {
+            return false;
+        }
+
+        // Take the nogood being written over out of the lists of its decisions
+        if (nogoodCells[next] != null) {
+            for (int i = 0; i < nogoodCells[next].length; i++) {
+                unwatch(key(nogoodCells[next][i], nogoodValues[next][i]), next);
+            }
+        }
+
+        nogoodCells[next] = cells.clone();
+        nogoodValues[next] = values.clone();
+        for (int i = 0; i < cells.length; i++) {
+            watch(key(cells[i], values[i]), next);
+        }
+
+        next = (next + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+        added++;
+
+        return true;
+    }
+
+    /**
+     * The method for finding a nogood whose decisions all hold now that a cell has a value
+     * @param cell - The index of the cell that was just given a value
+     * @param value - The value
+     * @param domain - The domains of the puzzle, where a decision holds if its cell only has its value left
+     * @return - The index of the nogood, or -1 if none of them hold
+     */
+    public int findViolated(int cell, int value, KenKenDomain domain) {
+        int key = key(cell, value);
+        int[] watching = watches[key];
+
+        for (int i = watchSizes[key] - 1; i >= 0; i--) {
+            int index = watching[i];
+            boolean violated = true;
+            for (int j = 0; j < nogoodCells[index].length && violated; j++) {
+                violated = domain.getDomain(nogoodCells[index][j]) == KenKenDomain.bit(nogoodValues[index][j]);
+            }
+
+            if (violated) {
+                hits++;
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * The method for retrieving the cells of a nogood
+     * @param index - The index of the nogood
+     * @return - The indexes of the cells
+     */
+    public int[] getCells(int index) {
+        return nogoodCells[index];
+    }
+
+    /**
+     * The method for retrieving the number of nogoods in the store
+     * @return - The number of nogoods
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The method for retrieving how many nogoods have been added, including the ones written over
+     * @return - The number of nogoods added
+     */
+    public long getAdded() {
+        return added;
+    }
+
+    /**
+     * The method for retrieving how many times a nogood cut off the search
+     * @return - The number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * The method for adding a nogood to the list of a decision
+     * @param key - The key of the decision
+     * @param index - The index of the nogood
+     */
+    private void watch(int key, int index) {
+        if (watches[key] == null) {
+            watches[key] = new int[4];
+        } else if (watchSizes[key] == watches[key].length) {
+            watches[key] = Arrays.copyOf(watches[key], watchSizes[key] * 2);
+        }
+        watches[key][watchSizes[key]++] = index;
+    }
+
+    /**
+     * The method for taking a nogood out of the list of a decision
+     * @param key - The key of the decision
+     * @param index - The index of the nogood
+     */
+    private void unwatch(int key, int index) {
+        int[] watching = watches[key];
+        for (int i = 0; i < watchSizes[key]; i++) {
+            if (watching[i] == index) {
+                watching[i] = watching[--watchSizes[key]];
+                return;
+            }
+        }
+    }
+
+    /**
+     * The method for creating the key of a decision
+     * @param cell - The index of the cell
+     * @param value - The value
+     * @return - The key
+     */
+    private int key(int cell, int value) {
+        return cell * (boardSize + 1) + value;
+    }
+}
@@ -0,0 +1,179 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The KenKenParallelSolver Class that splits the search of a puzzle over several threads. The first few guesses are
+ * made up front, and every value of a guessed cell becomes its own task with its own copy of the board and domains,
+ * so the tasks never share any state that changes. Once the split depth is reached each task runs a KenKenSolver on
+ * its copy. The tasks run in a ForkJoinPool, where threads that run out of work steal tasks from the others, and the
+ * first task to find a solution sets a flag that makes every other task stop.
+ */
+public class KenKenParallelSolver {
+    private KenKenPuzzle puzzle;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int splitDepth = 2;
+
+    private AtomicBoolean found;
+    private AtomicReference<int[][]> solution;
+    private AtomicLong nodes;
+    private AtomicLong tasks;
+
+    /**
+     * The constructor for the KenKenParallelSolver Class
+     * @param p - The puzzle, already read from its file
+     */
+    public KenKenParallelSolver(KenKenPuzzle p) {
+        puzzle = p;
+    }
+
+    /**
+     * The method for solving the puzzle, which is left as it was read since every task works on a copy
+     * @return - The solved board, or null if the puzzle has no solution
+     */
+    public int[][] solve() {
+        found = new AtomicBoolean(false);
+        solution = new AtomicReference<>();
+        nodes = new AtomicLong();
+        tasks = new AtomicLong();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SearchTask(puzzle.copy(), 0));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return solution.get();
+    }
+
+    /**
+     * The method for setting how many threads search at once
+     * @param p - The number of threads
+     */
+    public void setParallelism(int p) {
+        if (p < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+        parallelism = p;
+    }
+
+    /**
+     * The method for retrieving how many threads search at once
+     * @return - The number of threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * The method for setting how many guesses are made before the tasks stop splitting and search on their own
+     * @param depth - The number of guesses
+     */
+    public void setSplitDepth(int depth) {
+        splitDepth = depth;
+    }
+
+    /**
+     * The method for retrieving how many search nodes were visited by all of the tasks of the last solve
+     * @return - The number of nodes
+     */
+    public long getNodes() {
+        return nodes == null ? 0 : nodes.get();
+    }
+
+    /**
+     * The method for retrieving how many tasks the last solve was split into
+     * @return - The number of tasks
+     */
+    public long getTasks() {
+        return tasks == null ? 0 : tasks.get();
+    }
+
+    /**
+     * The SearchTask Class that searches one subproblem, either by splitting it further or by solving it
+     */
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private KenKenPuzzle state;
+        private int depth;
+
+        /**
+         * The constructor for the SearchTask Class
+         * @param s - The copy of the puzzle with the guesses of the subproblem already made
+         * @param d - The number of guesses made
+         */
+        SearchTask(KenKenPuzzle s, int d) {
+            state = s;
+            depth = d;
+        }
+
+        /**
+         * The method for searching the subproblem
+         */
+        @Override
+        protected void compute() {
+            // If another task already found the solution, there is nothing left to do
+            if (found.get()) {
+                return;
+            }
+            tasks.incrementAndGet();
+
+            KenKenVariables variables = state.variables;
+            if (depth >= splitDepth) {
+                solveState();
+                return;
+            }
+            if (!variables.removeMathValues()) {
+                return;
+            }
+
+            // Cells with one value left are not worth a task, so place them until there is a real guess to split on
+            int cell = variables.order.chooseCell();
+            while (cell >= 0 && variables.domain.size(cell) == 1) {
+                variables.assign(cell / variables.getBoardSize(), cell % variables.getBoardSize(),
+                        variables.domain.lowestValue(cell));
+                if (!variables.removeMathValues()) {
+                    return;
+                }
+                cell = variables.order.chooseCell();
+            }
+
+            // If every cell is placed the solver still has to check the board
+            if (cell < 0) {
+                solveState();
+                return;
+            }
+
+            // Give each value of the cell its own copy of the puzzle
+            List<SearchTask> children = new ArrayList<>();
+            for (int value: state.getValueOrder().order(variables, cell)) {
+                KenKenPuzzle child = state.copy();
+                child.variables.assign(cell / variables.getBoardSize(), cell % variables.getBoardSize(), value);
+                children.add(new SearchTask(child, depth + 1));
+            }
+
+            invokeAll(children);
+        }
+
+        /**
+         * The method for solving the subproblem with a single solver that stops once any task finds the solution
+         */
+        private void solveState() {
+            KenKenSolver solver = new KenKenSolver(state);
+            solver.setStopFlag(found);
+
+            int[][] result = solver.solve();
+            nodes.addAndGet(solver.getNodes());
+
+            if (result != null && solution.compareAndSet(null, result)) {
+                found.set(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The KenKenPortfolioSolver Class that runs several differently configured searches of the same puzzle at once and
+ * keeps the result of whichever one finishes first. No single value ordering or restart policy is the fastest on
+ * every puzzle, so running a few of them side by side costs some threads but avoids the worst case of each one. Every
+ * search works on its own copy of the puzzle. When one of them finishes, the others are interrupted and also see a
+ * shared stop flag, which the solver checks at every node.
+ *
+ * The searches run on virtual threads when the Java version has them, and on a thread for each search otherwise.
+ */
+public class KenKenPortfolioSolver {
+    private KenKenPuzzle puzzle;
+
+    private List<KenKenValueOrder> valueOrders = new ArrayList<>();
+    private List<KenKenRestarts> restartPolicies = new ArrayList<>();
+    private List<Boolean> weightings = new ArrayList<>();
+    private List<Long> seeds = new ArrayList<>();
+
+    private int winner = -1;
+    private long winnerNodes = 0;
+
+    /**
+     * The constructor for the KenKenPortfolioSolver Class
+     * @param p - The puzzle, already read from its file
+     */
+    public KenKenPortfolioSolver(KenKenPuzzle p) {
+        puzzle = p;
+    }
+
+    /**
+     * The method for adding a search to the portfolio
+     * @param order - The value ordering strategy of the search
+     * @param restarts - The restart policy of the search
+     * @param weighting - Whether the search chooses cells by domain size divided by the weight of their constraints
+     * @param seed - The seed that breaks ties between cells at random, or null to break them by the lowest index
+     */
+    public void addSearch(KenKenValueOrder order, KenKenRestarts restarts, boolean weighting, Long seed) {
+        valueOrders.add(order);
+        restartPolicies.add(restarts);
+        weightings.add(weighting);
+        seeds.add(seed);
+    }
+
+    /**
+     * The method for adding the searches used when none were added: the plain search, the search with the least
+     * constraining values first, and two randomized searches that restart with the weights of the failed constraints
+     */
+    public void addDefaultSearches() {
+        addSearch(KenKenValueOrder.ASCENDING, KenKenRestarts.NONE, false, null);
+        addSearch(KenKenValueOrder.LEAST_CONSTRAINING, KenKenRestarts.NONE, false, null);
+        addSearch(KenKenValueOrder.ASCENDING, KenKenRestarts.LUBY, true, 1L);
+        addSearch(KenKenValueOrder.CAGE_FREQUENCY, KenKenRestarts.GEOMETRIC, true, 2L);
+    }
+
+    /**
+     * The method for solving the puzzle with every search of the portfolio at once
+     * @return - The solved board, or null if the puzzle has no solution or the solve was interrupted
+     */
+    public int[][] solve() {
+        if (valueOrders.isEmpty()) {
+            addDefaultSearches();
+        }
+
+        AtomicBoolean stop = new AtomicBoolean(false);
+        List<Callable<Finish>> searches = new ArrayList<>();
+        winner = -1;
+        winnerNodes = 0;
+
+        // Make the copies before any search starts so the puzzle is only read by one thread
+        for (int i = 0; i < valueOrders.size(); i++) {
+            KenKenPuzzle copy = puzzle.copy();
+            copy.setValueOrder(valueOrders.get(i));
+
+            KenKenSolver solver = new KenKenSolver(copy);
+            solver.setRestarts(restartPolicies.get(i), 100);
+            solver.setWeighting(weightings.get(i));
+            if (seeds.get(i) != null) {
+                solver.setSeed(seeds.get(i));
+            }
+            solver.setStopFlag(stop);
+
+            int index = i;
+            searches.add(() -> {
+                int[][] solution = solver.solve();
+
+                // A search that was stopped did not finish, so it cannot win
+                if (solver.wasStopped()) {
+                    throw new InterruptedException();
+                }
+
+                return new Finish(index, solution, solver.getNodes());
+            });
+        }
+
+        ExecutorService executor = newExecutor(searches.size());
+        try {
+            // The board and the search it came from are read from the same result so they always match
+            Finish finish = executor.invokeAny(searches);
+            winner = finish.index;
+            winnerNodes = finish.nodes;
+
+            return finish.board;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Every search of the portfolio failed", e.getCause());
+        } finally {
+            stop.set(true);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The method for retrieving which search of the last solve finished first
+     * @return - The index of the search in the order it was added, or -1 if none finished
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * The method for retrieving how many search nodes the search that finished first visited
+     * @return - The number of nodes
+     */
+    public long getWinnerNodes() {
+        return winnerNodes;
+    }
+
+    /**
+     * The method for creating the executor of the searches, with a virtual thread for each search if the Java version
+     * has them
+     * @param searches - The number of searches
+     * @return - The executor
+     */
+    private static ExecutorService newExecutor(int searches) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(searches);
+        }
+    }
+
+    /**
+     * The Finish Class that holds the board a search of the portfolio ended with and which search it was
+     */
+    private static class Finish {
+        private int index;
+        private int[][] board;
+        private long nodes;
+
+        /**
+         * The constructor for the Finish Class
+         * @param i - The index of the search in the order it was added
+         * @param b - The solved board, or null if the puzzle has no solution
+         * @param n - The number of search nodes the search visited
+         */
+        Finish(int i, int[][] b, long n) {
+            index = i;
+            board = b;
+            nodes = n;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+import java.util.Arrays;
+
+/**
+ * The KenKenProductPropagator Class that revises a multiplication cage by splitting its target into prime factors.
+ * Every value of the board is stored as a vector of prime exponents, so the products the cells can still form are
+ * the divisors of the target, and a value is only kept if the rest of the target can still be made by the other
+ * cells of the cage.
+ */
+public class KenKenProductPropagator {
+    private int[] cells;
+    private int boardSize;
+
+    private int numOfPrimes;
+    private int[] maxExponents;
+    private int[] strides;
+    private int numOfDivisors;
+
+    private int[][] divisorExponents;
+    private int[] valueIndexes;
+    private int[][] valueExponents;
+
+    private boolean[][] prefix;
+    private boolean[][] suffix;
+
+    /**
+     * The constructor for the KenKenProductPropagator Class
+     * @param cage - The multiplication cage
+     * @param b - The board size
+     */
+    public KenKenProductPropagator(KenKenCage cage, int b) {
+        cells = cage.getCells();
+        boardSize = b;
+
+        // Find the primes of the target and how many times each divides it
+        int[] primes = new int[32];
+        int[] exponents = new int[32];
+        int remaining = cage.getTarget();
+        for (int p = 2; p <= boardSize && remaining > 1; p++) {
+            if (remaining % p == 0) {
+                primes[numOfPrimes] = p;
+                while (remaining % p == 0) {
+                    remaining /= p;
+                    exponents[numOfPrimes]++;
+                }
+                numOfPrimes++;
+            }
+        }
+
+        // If the target has a factor that no value on the board has, nothing can reach it
+        if (remaining > 1) {
+            numOfDivisors = 0;
+            valueIndexes = new int[boardSize + 1];
+            Arrays.fill(valueIndexes, -1);
+            return;
+        }
+
+        // Number the divisors of the target using their exponents as the digits
+        maxExponents = new int[numOfPrimes];
+        strides = new int[numOfPrimes];
+        numOfDivisors = 1;
+        for (int p = 0; p < numOfPrimes; p++) {
+            maxExponents[p] = exponents[p];
+            strides[p] = numOfDivisors;
+            numOfDivisors *= exponents[p] + 1;
+        }
+
+        divisorExponents = new int[numOfDivisors][numOfPrimes];
+        for (int d = 0; d < numOfDivisors; d++) {
+            for (int p = 0; p < numOfPrimes; p++) {
+                divisorExponents[d][p] = (d / strides[p]) % (maxExponents[p] + 1);
+            }
+        }
+
+        // Find the prime exponents of each value, or -1 if the value does not divide the target
+        valueIndexes = new int[boardSize + 1];
+        valueExponents = new int[boardSize + 1][numOfPrimes];
+        for (int value = 1; value <= boardSize; value++) {
+            int rest = value;
+            int index = 0;
+            boolean divides = true;
+            for (int p = 0; p < numOfPrimes; p++) {
+                while (rest % primes[p] == 0) {
+                    rest /= primes[p];
+                    valueExponents[value][p]++;
+                }
+                index += valueExponents[value][p] * strides[p];
+                divides = divides && valueExponents[value][p] <= maxExponents[p];
+            }
+            valueIndexes[value] = divides && rest == 1 ? index : -1;
+        }
+
+        prefix = new boolean[cells.length + 1][numOfDivisors];
+        suffix = new boolean[cells.length + 1][numOfDivisors];
+    }
+
+    /**
+     * The method for removing the values that leave a product the other cells of the cage cannot make
+     * @param domain - The domains of the puzzle
+     * @return - A boolean that is false if a cell in the cage has no values left
+     */
+    public boolean revise(KenKenDomain domain) {
+        if (numOfDivisors == 0) {
+            domain.restrict(cells[0], 0);
+            return false;
+        }
+
+        // Find the products the first cells and the last cells can make
+        Arrays.fill(prefix[0], false);
+        prefix[0][0] = true;
+        for (int i = 0; i < cells.length; i++) {
+            multiply(prefix[i], domain.getDomain(cells[i]), prefix[i + 1]);
+        }
+        Arrays.fill(suffix[cells.length], false);
+        suffix[cells.length][0] = true;
+        for (int i = cells.length - 1; i >= 0; i--) {
+            multiply(suffix[i + 1], domain.getDomain(cells[i]), suffix[i]);
+        }
+
+        for (int i = 0; i < cells.length; i++) {
+            int supported = 0;
+
+            // For the values of the cell
+            for (int value = domain.lowestValue(cells[i]); value != 0; value = domain.nextValue(cells[i], value)) {
+                if (valueIndexes[value] >= 0 && canComplete(prefix[i], value, suffix[i + 1])) {
+                    supported |= KenKenDomain.bit(value);
+                }
+            }
+
+            domain.restrict(cells[i], supported);
+            if (domain.getDomain(cells[i]) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for finding every product of a reachable divisor and a value of a domain that still divides the target
+     * @param from - The divisors that can be reached so far
+     * @param mask - The domain of the next cell
+     * @param to - The divisors that can be reached after the next cell
+     */
+    private void multiply(boolean[] from, int mask, boolean[] to) {
+        Arrays.fill(to, false);
+
+        for (int d = 0; d < numOfDivisors; d++) {
+            if (from[d]) {
+                for (int value = KenKenDomain.lowestValueOf(mask); value != 0; value = KenKenDomain.nextValueOf(mask, value)) {
+                    if (valueIndexes[value] >= 0 && fits(d, value)) {
+                        to[d + valueIndexes[value]] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The method for checking if a value can be paired with products of the cells before and after it to make the target
+     * @param before - The products the cells before can make
+     * @param value - The value
+     * @param after - The products the cells after can make
+     * @return - A boolean that is true if the target can be made
+     */
+    private boolean canComplete(boolean[] before, int value, boolean[] after) {
+        for (int d = 0; d < numOfDivisors; d++) {
+            if (before[d] && fits(d, value)) {
+                // The divisor the cells after have to make is what is left of the target
+                int rest = numOfDivisors - 1 - d - valueIndexes[value];
+                if (after[rest]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for checking if a divisor times a value still divides the target
+     * @param divisor - The index of the divisor
+     * @param value - The value
+     * @return - A boolean that is true if no prime goes over its exponent in the target
+     */
+    private boolean fits(int divisor, int value) {
+        for (int p = 0; p < numOfPrimes; p++) {
+            if (divisorExponents[divisor][p] + valueExponents[value][p] > maxExponents[p]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
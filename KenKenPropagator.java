@@ -0,0 +1,157 @@
+import java.util.Arrays;
+
+/**
+ * The KenKenPropagator Class that keeps the puzzle arc consistent by revising only the constraints that touch a cell
+ * whose domain actually changed. The rows are the constraints 0 to n-1, the columns are n to 2n-1 and the cages
+ * come after them in the order of the mathConstraints list.
+ */
+public class KenKenPropagator {
+    private KenKenVariables variables;
+    private int boardSize;
+    private KenKenAllDifferent allDifferent;
+
+    private int[] queue = new int[64];
+    private boolean[] inQueue = new boolean[64];
+    private int head = 0;
+    private int count = 0;
+
+    private boolean fullPass = true;
+    private long revisions = 0;
+
+    /**
+     * The constructor for the KenKenPropagator Class
+     * @param v - The variables with the domains and constraints of the puzzle
+     */
+    public KenKenPropagator(KenKenVariables v) {
+        variables = v;
+        boardSize = v.getBoardSize();
+        allDifferent = new KenKenAllDifferent(boardSize);
+    }
+
+    /**
+     * The method for adding the constraints of a cell to the queue after its domain changed
+     * @param cell - The index of the cell
+     */
+    public void cellChanged(int cell) {
+        enqueue(cell / boardSize);
+        enqueue(boardSize + cell % boardSize);
+
+        for (int cageIndex: variables.constraints.getCellCages(cell)) {
+            enqueue(2 * boardSize + cageIndex);
+        }
+    }
+
+    /**
+     * The method for revising the queued constraints until none of them remove any more values
+     * @return - A boolean that is false if a cell has no values left
+     */
+    public boolean propagate() {
+        // If every constraint has to be revised
+        if (fullPass) {
+            for (int id = 0; id < 2 * boardSize + variables.constraints.getMathConstraints().size(); id++) {
+                enqueue(id);
+            }
+            fullPass = false;
+        }
+
+        while (count > 0) {
+            int id = queue[head];
+            head = (head + 1) % queue.length;
+            count--;
+            inQueue[id] = false;
+            revisions++;
+
+            // Blame anything this revision removes on the decisions behind the domains of its cells
+            if (variables.explanations != null) {
+                variables.explanations.setRevision(id);
+            }
+
+            if (!revise(id)) {
+                if (variables.explanations != null) {
+                    variables.explanations.revisionFailed(id);
+                }
+                // Make the constraint weigh more in choosing the next cell
+                if (variables.order != null) {
+                    variables.order.constraintFailed(id);
+                }
+                // Undoing the decision puts back domains that were already consistent, so only the queue is stale
+                clearQueue();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for emptying the queue so that the next propagation revises every constraint again, for when the
+     * search starts over
+     */
+    public void reset() {
+        clearQueue();
+        fullPass = true;
+    }
+
+    /**
+     * The method for retrieving how many constraints have been revised
+     * @return - The number of revisions
+     */
+    public long getRevisions() {
+        return revisions;
+    }
+
+    /**
+     * The method for revising one constraint
+     * @param id - The constraint
+     * @return - A boolean that is false if a cell has no values left
+     */
+    private boolean revise(int id) {
+        // If it is a row
+        if (id < boardSize) {
+            return allDifferent.revise(variables.domain, id, id * boardSize, 1);
+        // If it is a column
+        } else if (id < 2 * boardSize) {
+            return allDifferent.revise(variables.domain, id, id - boardSize, boardSize);
+        }
+
+        return variables.constraints.reviseCage(id - 2 * boardSize);
+    }
+
+    /**
+     * The method for dropping every constraint that is waiting in the queue
+     */
+    private void clearQueue() {
+        while (count > 0) {
+            inQueue[queue[head]] = false;
+            head = (head + 1) % queue.length;
+            count--;
+        }
+    }
+
+    /**
+     * The method for adding a constraint to the end of the queue if it is not already waiting in it
+     * @param id - The constraint
+     */
+    private void enqueue(int id) {
+        if (id >= inQueue.length) {
+            inQueue = Arrays.copyOf(inQueue, Math.max(inQueue.length * 2, id + 1));
+        }
+        if (inQueue[id]) {
+            return;
+        }
+
+        // If the queue is full, unroll it into a larger array
+        if (count == queue.length) {
+            int[] larger = new int[queue.length * 2];
+            for (int i = 0; i < count; i++) {
+                larger[i] = queue[(head + i) % queue.length];
+            }
+            queue = larger;
+            head = 0;
+        }
+
+        queue[(head + count) % queue.length] = id;
+        inQueue[id] = true;
+        count++;
+    }
+}
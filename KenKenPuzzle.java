@@ -1,6 +1,5 @@
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
@@ -17,6 +16,7 @@ public class KenKenPuzzle {
     KenKenVariables variables;
 
     private File file;
+    private KenKenValueOrder valueOrder = KenKenValueOrder.ASCENDING;
 
     /**
      * A constructor for the KenKenPuzzle class
@@ -77,16 +77,11 @@ public class KenKenPuzzle {
             // Initialize the array for holding the values
             variables.setKenKenArray(new int[variables.getBoardSize()][variables.getBoardSize()]);
 
-            List<String> domainList = new ArrayList<>();
-            for (int i = 1; i <= variables.getBoardSize(); i++) {
-                domainList.add("" + i);
-            }
-
             // While there are more lines in the file,
             while(inputFile.hasNextLine()) {
                 String[] values = inputFile.nextLine().split(" ", -1);
                 // Call setInitialDomain method for setting domains for all the cells
-                variables.domain.setInitialDomain(values, domainList);
+                variables.domain.setInitialDomain(values);
                 // Call createMathConst method for setting up the groups of cells based on their math equations
                 variables.constraints.createMathConst(values);
             }
@@ -94,6 +89,11 @@ public class KenKenPuzzle {
             // Call this method to make sure all of the cells that should be in the file are accounted for
             fileError = variables.domain.checkAllCellsThere(variables.getBoardSize());
 
+            // Add the cages implied by the sums and products of the rows and columns
+            if (!fileError) {
+                variables.constraints.addImpliedCages();
+            }
+
             // Close the file
             inputFile.close();
 
@@ -110,20 +110,42 @@ public class KenKenPuzzle {
         return fileError;
     }
 
+    /**
+     * The method for creating a copy of the puzzle with its own board, domains and constraints, so it can be searched
+     * separately from this one. The cages and their tables are shared since they never change.
+     * @return - The copy of the puzzle
+     */
+    public KenKenPuzzle copy() {
+        KenKenPuzzle copy = new KenKenPuzzle();
+        copy.file = file;
+        copy.valueOrder = valueOrder;
+
+        copy.variables.setBoardSize(variables.getBoardSize());
+        copy.variables.setKenKenArray(variables.getKenKenArray());
+        copy.variables.constraints.copyCages(variables.constraints);
+        for (int cell = 0; cell < variables.domain.getNumOfCells(); cell++) {
+            copy.variables.domain.setDomain(cell, variables.domain.getDomain(cell));
+        }
+
+        return copy;
+    }
+
     /**
      * The method for determining if the value for the current cell is valid
-     * @param curCell - The current cell
+     * @param cell - The current cell
      */
-    public void chooseValidDomain(String curCell) {
-        // For all of the domains of the current cell
-        for (String domainList: variables.domain.getKenKenDomain().get(curCell)) {
+    public void chooseValidDomain(int cell) {
+        int row = cell / variables.getBoardSize();
+        int col = cell % variables.getBoardSize();
+
+        // For all of the domains of the current cell, in the order of the value ordering strategy
+        for (int value: valueOrder.order(variables, cell)) {
             // If the value is valid for the row and column
-            if (variables.checkRowsCols(curCell.substring(0, 1), curCell.substring(1, 2), domainList)) {
+            if (variables.checkRowsCols(row, col, value)) {
                 // If the value is valid within the math equation constraints
-                if (variables.mathCellValid(curCell, domainList)) {
+                if (variables.mathCellValid(cell, value)) {
                     // Set it as the current value
-                    variables.getKenKenArray()[Integer.parseInt(curCell.substring(0, 1))][Integer.parseInt(curCell.substring(1, 2))]
-                            = Integer.parseInt(domainList);
+                    variables.assign(row, col, value);
                     break;
                 }
             }
@@ -136,26 +158,32 @@ public class KenKenPuzzle {
      * @param smallestDomains - The smallestDomains list so the program knows what cell to look at
      * @return - A boolean showing if more backtracking is needed
      */
-    public boolean doBackTracking(int currentVal, List<String> smallestDomains) {
+    public boolean doBackTracking(int currentVal, List<Integer> smallestDomains) {
         boolean backTrack = true;
+        int cell = smallestDomains.get(0);
+        int row = cell / variables.getBoardSize();
+        int col = cell % variables.getBoardSize();
+
+        // The values come in the same order as when the cell was first chosen, so carry on after the current value
+        int[] values = valueOrder.order(variables, cell);
+        int next = 0;
+        while (next < values.length && values[next] != currentVal) {
+            next++;
+        }
 
-        // For the list of the domains for the first cell in the smallestDomains list
-        for (String domainList: variables.domain.getKenKenDomain().get(smallestDomains.get(0))) {
-            // If the domain is larger than the current value
-            if (Integer.parseInt(domainList) > currentVal) {
-                // If the value is valid for the row and column
-                if (variables.checkRowsCols(smallestDomains.get(0).substring(0, 1),
-                        smallestDomains.get(0).substring(1, 2), domainList)) {
-                    // IF the value is valid within the math equation constraints
-                    if (variables.mathCellValid(smallestDomains.get(0), domainList)) {
-                        backTrack = false;
-
-                        // Set it as the current value
-                        variables.getKenKenArray()[Integer.parseInt(smallestDomains.get(0).substring(0, 1))]
-                                [Integer.parseInt(smallestDomains.get(0).substring(1, 2))] = Integer.parseInt(domainList);
-
-                        break;
-                    }
+        // For the values in the domain of the first cell in the smallestDomains list that come after the current value
+        for (int i = next + 1; i < values.length; i++) {
+            int value = values[i];
+            // If the value is valid for the row and column
+            if (variables.checkRowsCols(row, col, value)) {
+                // IF the value is valid within the math equation constraints
+                if (variables.mathCellValid(cell, value)) {
+                    backTrack = false;
+
+                    // Set it as the current value
+                    variables.assign(row, col, value);
+
+                    break;
                 }
             }
         }
@@ -163,6 +191,22 @@ public class KenKenPuzzle {
         return backTrack;
     }
 
+    /**
+     * The method for retrieving the strategy used to order the values of a cell
+     * @return - The value ordering strategy
+     */
+    public KenKenValueOrder getValueOrder() {
+        return valueOrder;
+    }
+
+    /**
+     * The method for setting the strategy used to order the values of a cell
+     * @param order - The value ordering strategy
+     */
+    public void setValueOrder(KenKenValueOrder order) {
+        valueOrder = order;
+    }
+
     /**
      * The method for retrieving the file chosen by the user
      * @return - The file
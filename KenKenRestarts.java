@@ -0,0 +1,55 @@
+/**
+ * The KenKenRestarts enum with the policies for how many backtracks the search gets before it starts over from the
+ * first guess. Starting over with the weights and nogoods learned so far keeps an unlucky early guess from costing
+ * the whole run.
+ */
+public enum KenKenRestarts {
+    /**
+     * The search never starts over
+     */
+    NONE,
+    /**
+     * The limits follow the Luby sequence 1, 1, 2, 1, 1, 2, 4, ... times the base
+     */
+    LUBY,
+    /**
+     * The limits grow by half each time, starting at the base
+     */
+    GEOMETRIC;
+
+    /**
+     * The method for finding the number of backtracks allowed before a restart
+     * @param restart - The number of restarts so far
+     * @param base - The number of backtracks of the first run
+     * @return - The number of backtracks allowed
+     */
+    public long getLimit(int restart, long base) {
+        switch (this) {
+            case LUBY:
+                return base * luby(restart + 1);
+            case GEOMETRIC:
+                return (long) (base * Math.pow(1.5, Math.min(restart, 100)));
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * The method for finding a term of the Luby sequence
+     * @param i - The position in the sequence, starting at 1
+     * @return - The term
+     */
+    public static long luby(long i) {
+        int k = 1;
+        while ((1L << k) - 1 < i) {
+            k++;
+        }
+
+        // The term at the end of each block is the next power of two, and the rest of the block repeats the sequence
+        if ((1L << k) - 1 == i) {
+            return 1L << (k - 1);
+        }
+
+        return luby(i - (1L << (k - 1)) + 1);
+    }
+}
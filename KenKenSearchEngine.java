@@ -0,0 +1,23 @@
+/**
+ * The KenKenSearchEngine interface for the ways a loaded puzzle can be solved without the window, so they can be
+ * swapped for one another and compared on the same puzzles
+ */
+public interface KenKenSearchEngine {
+    /**
+     * The method for solving the puzzle
+     * @return - The solved board, or null if the puzzle has no solution
+     */
+    int[][] solve();
+
+    /**
+     * The method for retrieving how many search nodes were visited
+     * @return - The number of nodes
+     */
+    long getNodes();
+
+    /**
+     * The method for retrieving the puzzle being solved
+     * @return - The puzzle
+     */
+    KenKenPuzzle getPuzzle();
+}
@@ -0,0 +1,260 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The KenKenSolutionSpliterator Class that goes through the solutions of a puzzle one at a time. The search keeps its
+ * guesses on a stack of its own instead of recursing, so it can stop at each solution and carry on from the same spot
+ * the next time a solution is asked for, and no more than one solution is ever held at once. Each guess is undone with
+ * the trail like in the KenKenSolver.
+ *
+ * A split hands half of the values of the first guess that have not been tried yet to a new spliterator with its own
+ * copy of the puzzle, so a parallel stream can search the top branches on different threads. A board can be given to
+ * copy every solution into instead of creating a new one each time, in which case a split gets a board of its own.
+ */
+public class KenKenSolutionSpliterator implements Spliterator<int[][]> {
+    private KenKenPuzzle puzzle;
+    private KenKenVariables variables;
+    private int boardSize;
+    private int[][] buffer;
+
+    private List<Frame> frames = new ArrayList<>();
+    private KenKenPuzzle rootState;
+    private int rootCell = -1;
+    private int[] rootValues;
+    private boolean prepared = false;
+    private boolean rootSolved = false;
+    private boolean done = false;
+
+    /**
+     * The constructor for the KenKenSolutionSpliterator Class
+     * @param p - The puzzle, already read from its file, which is searched in place
+     * @param b - The board each solution is copied into, or null to create a new board for each solution
+     */
+    public KenKenSolutionSpliterator(KenKenPuzzle p, int[][] b) {
+        puzzle = p;
+        variables = p.variables;
+        boardSize = variables.getBoardSize();
+        buffer = b;
+    }
+
+    /**
+     * The constructor for a spliterator that searches some of the values of the first guess of another one
+     * @param p - The copy of the puzzle from before the first guess
+     * @param cell - The index of the cell of the first guess
+     * @param values - The values of the first guess to search
+     * @param root - The puzzle from before the first guess, which later splits are copied from
+     * @param b - The board each solution is copied into, or null to create a new board for each solution
+     */
+    private KenKenSolutionSpliterator(KenKenPuzzle p, int cell, int[] values, KenKenPuzzle root, int[][] b) {
+        this(p, b);
+        rootCell = cell;
+        rootValues = values;
+        rootState = root;
+    }
+
+    /**
+     * The method for finding the next solution and giving it to an action
+     * @param action - The action that takes the solution
+     * @return - A boolean that is false if there are no solutions left
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super int[][]> action) {
+        if (!prepared) {
+            prepare();
+        }
+
+        // If the puzzle was solved without a guess, that is its only solution
+        if (rootSolved) {
+            rootSolved = false;
+            done = true;
+            action.accept(copyBoard());
+            return true;
+        }
+
+        while (!done) {
+            if (!nextBranch()) {
+                done = true;
+            } else if (descend()) {
+                action.accept(copyBoard());
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for handing half of the untried values of the first guess to a new spliterator
+     * @return - The new spliterator, or null if there are fewer than two values left to hand over
+     */
+    @Override
+    public Spliterator<int[][]> trySplit() {
+        if (!prepared) {
+            prepare();
+        }
+        if (done || frames.isEmpty()) {
+            return null;
+        }
+
+        Frame root = frames.get(0);
+        int untried = root.values.length - root.next;
+        if (untried < 2) {
+            return null;
+        }
+
+        // Keep the first half of the values and give away the rest
+        int keep = root.values.length - untried / 2;
+        int[] given = Arrays.copyOfRange(root.values, keep, root.values.length);
+        root.values = Arrays.copyOf(root.values, keep);
+
+        return new KenKenSolutionSpliterator(rootState.copy(), root.cell, given, rootState,
+                buffer == null ? null : new int[boardSize][boardSize]);
+    }
+
+    /**
+     * The method for estimating how many solutions are left, which is not known ahead of time
+     * @return - The largest possible estimate
+     */
+    @Override
+    public long estimateSize() {
+        return done ? 0 : Long.MAX_VALUE;
+    }
+
+    /**
+     * The method for retrieving the characteristics of the solutions
+     * @return - The characteristics
+     */
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+
+    /**
+     * The method for propagating the puzzle and finding the cell of the first guess
+     */
+    private void prepare() {
+        prepared = true;
+
+        // A split already knows its first guess
+        if (rootValues != null) {
+            frames.add(new Frame(rootCell, rootValues));
+            return;
+        }
+
+        // Start from the board as it was read, even if an earlier solve left guesses on the trail
+        variables.trail.backtrackTo(0);
+        variables.propagator.reset();
+
+        if (!variables.removeMathValues() || !variables.placeSingles()) {
+            done = true;
+            return;
+        }
+
+        int cell = variables.order.chooseCell();
+        if (cell < 0) {
+            rootSolved = isSolved();
+            done = !rootSolved;
+            return;
+        }
+
+        // Keep the state from before the first guess for the splits to start from
+        rootState = puzzle.copy();
+        frames.add(new Frame(cell, puzzle.getValueOrder().order(variables, cell)));
+    }
+
+    /**
+     * The method for undoing the latest guess and making the next one, going back up when a cell runs out of values
+     * @return - A boolean that is false if every guess has been tried
+     */
+    private boolean nextBranch() {
+        while (!frames.isEmpty()) {
+            Frame frame = frames.get(frames.size() - 1);
+            if (frame.active) {
+                variables.trail.popLevel();
+                frame.active = false;
+            }
+
+            if (frame.next < frame.values.length) {
+                guess(frame);
+                return true;
+            }
+
+            frames.remove(frames.size() - 1);
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for propagating and guessing the first value of each cell until the board is filled or fails
+     * @return - A boolean that is true if the board is a solution
+     */
+    private boolean descend() {
+        while (variables.removeMathValues() && variables.placeSingles()) {
+            int cell = variables.order.chooseCell();
+            if (cell < 0) {
+                return isSolved();
+            }
+
+            Frame frame = new Frame(cell, puzzle.getValueOrder().order(variables, cell));
+            frames.add(frame);
+            guess(frame);
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for giving the cell of a frame its next value in a new decision level
+     * @param frame - The frame
+     */
+    private void guess(Frame frame) {
+        variables.trail.pushLevel();
+        variables.assign(frame.cell / boardSize, frame.cell % boardSize, frame.values[frame.next++]);
+        frame.active = true;
+    }
+
+    /**
+     * The method for checking if every cell has a value that follows the rows, columns and cages
+     * @return - A boolean that is true if the board is solved
+     */
+    private boolean isSolved() {
+        return variables.getUnfilledCells() == 0 && variables.solved() && variables.cagesSatisfied();
+    }
+
+    /**
+     * The method for copying the board into the buffer, or into a new board if there is no buffer
+     * @return - The copy of the board
+     */
+    private int[][] copyBoard() {
+        int[][] board = buffer != null ? buffer : new int[boardSize][boardSize];
+        for (int row = 0; row < boardSize; row++) {
+            System.arraycopy(variables.getKenKenArray()[row], 0, board[row], 0, boardSize);
+        }
+
+        return board;
+    }
+
+    /**
+     * The Frame Class that holds a guessed cell, the values it is tried with and how many have been tried
+     */
+    private static class Frame {
+        private int cell;
+        private int[] values;
+        private int next = 0;
+        private boolean active = false;
+
+        /**
+         * The constructor for the Frame Class
+         * @param c - The index of the cell
+         * @param v - The values in the order they are tried
+         */
+        Frame(int c, int[] v) {
+            cell = c;
+            values = v;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * The KenKenSolveResult Class that holds how a solve ended, the board it ended with and how much work it took. If the
+ * search was not done, the board is the one with the most cells filled in that the search reached.
+ */
+public class KenKenSolveResult {
+    private KenKenSolveStatus status;
+    private int[][] board;
+    private long nodes;
+    private long backtracks;
+    private long backjumps;
+    private long restarts;
+    private long elapsedMillis;
+
+    /**
+     * The constructor for the KenKenSolveResult Class
+     * @param s - How the solve ended
+     * @param b - The solved board, or the board with the most cells filled in if it was not solved
+     * @param n - The number of search nodes
+     * @param bt - The number of backtracks
+     * @param bj - The number of backjumps
+     * @param r - The number of restarts
+     * @param ms - The time the solve took in milliseconds
+     */
+    public KenKenSolveResult(KenKenSolveStatus s, int[][] b, long n, long bt, long bj, long r, long ms) {
+        status = s;
+        board = b;
+        nodes = n;
+        backtracks = bt;
+        backjumps = bj;
+        restarts = r;
+        elapsedMillis = ms;
+    }
+
+    /**
+     * The method for retrieving how the solve ended
+     * @return - The status
+     */
+    public KenKenSolveStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The method for checking if the solve found a solution
+     * @return - A boolean that is true if the puzzle was solved
+     */
+    public boolean isSolved() {
+        return status == KenKenSolveStatus.SOLVED;
+    }
+
+    /**
+     * The method for retrieving the board the solve ended with
+     * @return - The solved board, or the board with the most cells filled in, where empty cells are 0
+     */
+    public int[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * The method for retrieving how many search nodes were visited
+     * @return - The number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * The method for retrieving how many guesses were undone
+     * @return - The number of backtracks
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * The method for retrieving how many times the search jumped back over more than one level
+     * @return - The number of backjumps
+     */
+    public long getBackjumps() {
+        return backjumps;
+    }
+
+    /**
+     * The method for retrieving how many times the search started over
+     * @return - The number of restarts
+     */
+    public long getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * The method for retrieving how long the solve took
+     * @return - The time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * The method for describing the result
+     * @return - The status with the number of nodes, backtracks and milliseconds
+     */
+    @Override
+    public String toString() {
+        return status + " after " + nodes + " nodes, " + backtracks + " backtracks and " + elapsedMillis + " ms";
+    }
+}
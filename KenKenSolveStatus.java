@@ -0,0 +1,22 @@
+/**
+ * The KenKenSolveStatus enum with the ways a solve can end
+ */
+public enum KenKenSolveStatus {
+    /**
+     * The search found a solution
+     */
+    SOLVED,
+    /**
+     * The search went through every guess without finding a solution
+     */
+    NO_SOLUTION,
+    /**
+     * The search ran out of any of its budgets before it was done: the node limit, the time limit or the trail
+     * limit. The statistics of the result tell which one was reached.
+     */
+    TIMEOUT,
+    /**
+     * The search was stopped by its cancellation flag or by interrupting its thread
+     */
+    CANCELLED
+}
@@ -0,0 +1,527 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The KenKenSolver Class that solves a loaded puzzle from start to finish without the window. It propagates the
+ * constraints, places every cell left with a single value, and then guesses a value for the cell with the smallest
+ * domain, undoing the guess with the trail if the propagation after it fails. The arc consistency of the puzzle is
+ * kept after every guess, so the search only goes as deep as the number of guesses it needs.
+ *
+ * When a guess fails, the decisions the failure depended on are collected from the explanations of the domains. If
+ * the decision of a level is not one of them, trying its other values cannot help, so the search jumps straight
+ * back to the latest decision that is. The decisions behind a cell running out of values are also stored as a
+ * nogood so the same combination is cut off if it is reached again.
+ *
+ * A restart policy can make the search start over from the first guess after a number of backtracks, keeping the
+ * nogoods and the weights of the constraints that failed, and a seed makes ties between cells break at random in a
+ * way that can be repeated.
+ */
+public class KenKenSolver implements KenKenSearchEngine {
+    private KenKenPuzzle puzzle;
+    private KenKenVariables variables;
+    private int boardSize;
+
+    private boolean backjumping = true;
+    private KenKenNogoods nogoods;
+    private KenKenExplanations explanations;
+    private int[] decisionCells;
+    private int[] decisionValues;
+
+    private KenKenRestarts restarts = KenKenRestarts.NONE;
+    private long restartBase = 100;
+    private long restartLimit = Long.MAX_VALUE;
+    private long restartBacktracks = 0;
+    private boolean restarting = false;
+    private boolean weighting = false;
+    private Random random;
+    private AtomicBoolean stopFlag;
+    private boolean stopped = false;
+    private boolean timedOut = false;
+    private long nodeLimit = Long.MAX_VALUE;
+    private long timeLimit = 0;
+    private long deadline;
+    private int trailLimit = Integer.MAX_VALUE;
+    private int[][] bestBoard;
+    private int bestUnfilled;
+    private List<int[][]> solutions;
+    private int solutionCap;
+
+    private long nodes = 0;
+    private long backtracks = 0;
+    private long backjumps = 0;
+    private long restartCount = 0;
+
+    /**
+     * The constructor for the KenKenSolver Class
+     * @param p - The puzzle, already read from its file
+     */
+    public KenKenSolver(KenKenPuzzle p) {
+        puzzle = p;
+        variables = p.variables;
+        boardSize = variables.getBoardSize();
+        nogoods = new KenKenNogoods(boardSize, 4096);
+    }
+
+    /**
+     * The method for solving the puzzle
+     * @return - A copy of the solved board, or null if the puzzle has no solution
+     */
+    @Override
+    public int[][] solve() {
+        return run() ? copyBoard() : null;
+    }
+
+    /**
+     * The method for solving the puzzle within the node, time and trail limits, which also tells why the solve ended
+     * if it did not find a solution. Running out of any of the three limits is reported as a TIMEOUT.
+     * @return - The result, with the solved board or the board with the most cells filled in
+     */
+    public KenKenSolveResult solveWithBudget() {
+        long start = System.nanoTime();
+        boolean solved = run();
+
+        KenKenSolveStatus status = KenKenSolveStatus.NO_SOLUTION;
+        if (solved) {
+            status = KenKenSolveStatus.SOLVED;
+        } else if (timedOut) {
+            status = KenKenSolveStatus.TIMEOUT;
+        } else if (stopped) {
+            status = KenKenSolveStatus.CANCELLED;
+        }
+
+        return new KenKenSolveResult(status, solved ? copyBoard() : bestBoard, nodes, backtracks, backjumps,
+                restartCount, (System.nanoTime() - start) / 1000000);
+    }
+
+    /**
+     * The method for finding the solutions of the puzzle, stopping once there are as many as the cap. The search
+     * carries on past each solution by treating it like a failure, so the propagation and the trail are the same as
+     * when solving, but the restart policy is not used since starting over would find the same solutions again.
+     * @param cap - The largest number of solutions to find
+     * @return - A copy of the board of each solution found, which holds every solution if there are fewer than the cap
+     * and the search was not stopped, as wasStopped tells
+     */
+    public List<int[][]> findSolutions(int cap) {
+        KenKenRestarts savedRestarts = restarts;
+        long savedLimit = restartLimit;
+        solutions = new ArrayList<>();
+        solutionCap = cap;
+        restarts = KenKenRestarts.NONE;
+
+        try {
+            if (cap > 0) {
+                run();
+            }
+
+            return solutions;
+        } finally {
+            solutions = null;
+            restarts = savedRestarts;
+            restartLimit = savedLimit;
+        }
+    }
+
+    /**
+     * The method for checking if the puzzle has exactly one solution, which stops as soon as a second one is found
+     * @return - A boolean that is true if the puzzle has one solution
+     * @throws IllegalStateException - If the check was cancelled or ran out of budget before it could tell
+     */
+    public boolean hasUniqueSolution() {
+        int count = findSolutions(2).size();
+
+        // A search that was cut short after one solution does not know if there is a second one
+        if (stopped && count < 2) {
+            throw new IllegalStateException("The uniqueness check was " + (timedOut ? "out of budget" : "cancelled")
+                    + " before it finished");
+        }
+
+        return count == 1;
+    }
+
+    /**
+     * The method for going through every solution of the puzzle one at a time, without keeping them all
+     * @return - A stream of the solutions, each on a new board
+     */
+    public Stream<int[][]> streamSolutions() {
+        return streamSolutions(null, false);
+    }
+
+    /**
+     * The method for going through every solution of the puzzle one at a time, without keeping them all
+     * @param buffer - The board each solution is copied into, or null to create a new board for each solution
+     * @param parallel - Whether the top branches of the search are split between threads
+     * @return - A stream of the solutions
+     */
+    public Stream<int[][]> streamSolutions(int[][] buffer, boolean parallel) {
+        return StreamSupport.stream(new KenKenSolutionSpliterator(puzzle, buffer), parallel);
+    }
+
+    /**
+     * The method for searching until the search is done or stopped, starting over whenever the restart policy says to
+     * @return - A boolean that is true if the search ended on a solution
+     */
+    private boolean run() {
+        // Start from the board as it was read, even if an earlier solve left guesses on the trail
+        variables.trail.backtrackTo(0);
+        variables.propagator.reset();
+        restartLimit = restarts.getLimit(0, restartBase);
+
+        // The counters and the node limit are per solve, while the nogoods and weights carry over
+        nodes = 0;
+        backtracks = 0;
+        backjumps = 0;
+        restartCount = 0;
+        restartBacktracks = 0;
+        restarting = false;
+
+        deadline = System.nanoTime() + timeLimit * 1000000;
+        stopped = false;
+        timedOut = false;
+        bestBoard = copyBoard();
+        bestUnfilled = variables.getUnfilledCells();
+
+        if (backjumping) {
+            explanations = variables.enableExplanations();
+            decisionCells = new int[boardSize * boardSize + 2];
+            decisionValues = new int[boardSize * boardSize + 2];
+        }
+
+        variables.order.setWeighted(weighting);
+        variables.order.setRandom(random);
+
+        // Search until a solution is found or a run ends without being cut off by its restart limit
+        while (!search()) {
+            if (!restarting || stopped) {
+                return false;
+            }
+
+            variables.trail.backtrackTo(0);
+            variables.propagator.reset();
+            restartCount++;
+            restartLimit = restarts.getLimit((int) Math.min(restartCount, Integer.MAX_VALUE), restartBase);
+            restartBacktracks = backtracks;
+            restarting = false;
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for copying the current board
+     * @return - The copy of the board
+     */
+    private int[][] copyBoard() {
+        int[][] board = new int[boardSize][];
+        for (int row = 0; row < boardSize; row++) {
+            board[row] = variables.getKenKenArray()[row].clone();
+        }
+
+        return board;
+    }
+
+    /**
+     * The method for propagating the current assignments and guessing the next cell until the board is filled
+     * @return - A boolean that is true if the board was solved from the current state
+     */
+    private boolean search() {
+        nodes++;
+        int solutionsBefore = solutions == null ? 0 : solutions.size();
+
+        // If the search was cancelled or ran out of budget, unwind without learning anything
+        if (shouldStop()) {
+            stopped = true;
+            return false;
+        }
+
+        // A failed propagation leaves the decisions it depended on in the explanations
+        if (!variables.removeMathValues()) {
+            return false;
+        }
+
+        int cell = variables.placeSingles() ? variables.order.chooseCell() : -1;
+
+        // Keep the board with the most cells filled in, which is all a stopped search has to show
+        if (variables.getUnfilledCells() < bestUnfilled) {
+            bestUnfilled = variables.getUnfilledCells();
+            bestBoard = copyBoard();
+        }
+
+        // If every cell has a value, make sure the board really follows all of the cages
+        if (cell < 0 && variables.getUnfilledCells() == 0 && variables.solved() && variables.cagesSatisfied()) {
+            if (solutions == null) {
+                return true;
+            }
+
+            // When collecting solutions, keep the board and go on as if it failed until there are enough of them
+            solutions.add(copyBoard());
+            if (solutions.size() >= solutionCap) {
+                return true;
+            }
+            if (backjumping) {
+                explanations.blameAll();
+            }
+            return false;
+        } else if (cell < 0) {
+            if (backjumping) {
+                explanations.blameAll();
+            }
+            return false;
+        }
+
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+
+        // The cell running out of values also depends on whatever removed values from its domain
+        long[] conflictSet = null;
+        if (backjumping) {
+            conflictSet = explanations.newSet();
+            KenKenExplanations.union(conflictSet, explanations.getExplanation(cell));
+        }
+
+        // For the values of the chosen cell, in the order of the value ordering strategy of the puzzle
+        for (int value: puzzle.getValueOrder().order(variables, cell)) {
+            int level = variables.trail.pushLevel();
+            boolean solved;
+
+            if (backjumping) {
+                decisionCells[level] = cell;
+                decisionValues[level] = value;
+                explanations.setDecision(level);
+            }
+            variables.assign(row, col, value);
+
+            // If the guess completes a combination that is already known to fail, skip the search below it
+            int violated = backjumping ? nogoods.findViolated(cell, value, variables.domain) : -1;
+            if (violated >= 0) {
+                explanations.blameCells(nogoods.getCells(violated));
+                solved = false;
+            } else {
+                solved = search();
+            }
+
+            if (solved) {
+                return true;
+            }
+
+            // Undo the guess along with everything that was pruned after it
+            variables.trail.popLevel();
+            backtracks++;
+
+            // If the run has used up its backtracks, unwind to the top so the search can start over
+            if (stopped) {
+                return false;
+            } else if (restarting || backtracks - restartBacktracks >= restartLimit) {
+                restarting = true;
+                return false;
+            }
+
+            if (backjumping) {
+                long[] childConflict = explanations.getConflict();
+
+                // If the failure did not depend on this guess, the other values will fail the same way
+                if (!KenKenExplanations.contains(childConflict, level)) {
+                    backjumps++;
+                    return false;
+                }
+
+                KenKenExplanations.remove(childConflict, level);
+                KenKenExplanations.union(conflictSet, childConflict);
+            }
+        }
+
+        if (backjumping) {
+            // A branch that led to a solution did not fail, so it cannot be kept as a nogood
+            if (solutions == null || solutions.size() == solutionsBefore) {
+                learnNogood(conflictSet);
+            }
+            explanations.blameLevels(conflictSet);
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for checking the cancellation flag, the interrupt of the thread and the limits of the solve. The
+     * clock is only read every 16 nodes since it costs more than the other checks.
+     * @return - A boolean that is true if the search has to stop
+     */
+    private boolean shouldStop() {
+        if ((stopFlag != null && stopFlag.get()) || Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+
+        if (nodes > nodeLimit || variables.trail.size() > trailLimit
+                || (timeLimit > 0 && (nodes & 15) == 0 && System.nanoTime() - deadline > 0)) {
+            timedOut = true;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * The method for storing the decisions of a set of levels as a nogood
+     * @param levels - The set of decision levels that cannot all hold together
+     */
+    private void learnNogood(long[] levels) {
+        int count = 0;
+        for (int level = 1; level <= variables.trail.getLevel(); level++) {
+            if (KenKenExplanations.contains(levels, level)) {
+                count++;
+            }
+        }
+
+        int[] cells = new int[count];
+        int[] values = new int[count];
+        count = 0;
+        for (int level = 1; level <= variables.trail.getLevel(); level++) {
+            if (KenKenExplanations.contains(levels, level)) {
+                cells[count] = decisionCells[level];
+                values[count] = decisionValues[level];
+                count++;
+            }
+        }
+
+        nogoods.add(cells, values);
+    }
+
+    /**
+     * The method for retrieving the puzzle being solved
+     * @return - The puzzle
+     */
+    @Override
+    public KenKenPuzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * The method for retrieving how many search nodes the last solve visited
+     * @return - The number of nodes
+     */
+    @Override
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * The method for retrieving how many guesses the last solve undid
+     * @return - The number of backtracks
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * The method for retrieving how many times the last solve jumped back over more than one level
+     * @return - The number of backjumps
+     */
+    public long getBackjumps() {
+        return backjumps;
+    }
+
+    /**
+     * The method for retrieving the store of nogoods learned by the search
+     * @return - The nogoods
+     */
+    public KenKenNogoods getNogoods() {
+        return nogoods;
+    }
+
+    /**
+     * The method for setting whether the search jumps back to the cause of a failure and learns nogoods, or
+     * only goes back one guess at a time
+     * @param b - Whether to backjump
+     */
+    public void setBackjumping(boolean b) {
+        backjumping = b;
+    }
+
+    /**
+     * The method for setting how often the search starts over
+     * @param policy - The restart policy
+     * @param base - The number of backtracks allowed in the first run
+     */
+    public void setRestarts(KenKenRestarts policy, long base) {
+        restarts = policy;
+        restartBase = base;
+        restartLimit = policy.getLimit(0, base);
+    }
+
+    /**
+     * The method for setting whether cells are chosen by their domain size divided by the weight of their constraints
+     * @param w - Whether to use the weights
+     */
+    public void setWeighting(boolean w) {
+        weighting = w;
+    }
+
+    /**
+     * The method for setting the seed that breaks ties between cells at random
+     * @param seed - The seed of the random generator
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * The method for setting a flag that makes the search stop when it is set, such as by another search that
+     * already found the solution
+     * @param flag - The flag, or null to never stop
+     */
+    public void setStopFlag(AtomicBoolean flag) {
+        stopFlag = flag;
+    }
+
+    /**
+     * The method for checking if the last solve was stopped by the stop flag, by interrupting its thread or by one
+     * of its limits
+     * @return - A boolean that is true if the search was stopped
+     */
+    public boolean wasStopped() {
+        return stopped;
+    }
+
+    /**
+     * The method for setting the largest number of search nodes a solve can visit
+     * @param limit - The number of nodes
+     */
+    public void setNodeLimit(long limit) {
+        nodeLimit = limit;
+    }
+
+    /**
+     * The method for setting how long a solve can take
+     * @param millis - The time in milliseconds, or 0 for no limit
+     */
+    public void setTimeLimit(long millis) {
+        timeLimit = millis;
+    }
+
+    /**
+     * The method for setting the largest number of entries the trail can hold, which bounds the memory of a solve
+     * @param limit - The number of entries
+     */
+    public void setTrailLimit(int limit) {
+        trailLimit = limit;
+    }
+
+    /**
+     * The method for retrieving how many times the last solve started over
+     * @return - The number of restarts
+     */
+    public long getRestarts() {
+        return restartCount;
+    }
+
+    /**
+     * The method for setting how many nogoods are kept before the oldest ones are written over
+     * @param capacity - The largest number of nogoods
+     */
+    public void setNogoodCapacity(int capacity) {
+        nogoods = new KenKenNogoods(boardSize, capacity);
+    }
+}
@@ -0,0 +1,135 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The KenKenTableCache Class that shares the combination tables of cages between all of the puzzles solved by the
+ * program. Two cages with the same operator, target, board size and the same pairs of cells in a shared row or
+ * column have the same table, so a batch of puzzles only has to list each of them once. The least recently used
+ * tables are dropped when the cache is full.
+ */
+public class KenKenTableCache {
+    /**
+     * The table stored for cages that have too many combinations to list
+     */
+    private static final KenKenCageTable NO_TABLE = new KenKenCageTable(0, new int[0], 0);
+
+    private static int maxEntries = 4096;
+
+    private static final LinkedHashMap<String, KenKenCageTable> tables =
+            new LinkedHashMap<String, KenKenCageTable>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, KenKenCageTable> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private KenKenTableCache() {
+    }
+
+    /**
+     * The method for retrieving the table of a cage, listing it only if the same kind of cage has not been seen
+     * @param cage - The cage
+     * @param boardSize - The board size
+     * @return - The table of combinations, or null if the cage has too many of them
+     */
+    public static KenKenCageTable getTable(KenKenCage cage, int boardSize) {
+        String key = getSignature(cage, boardSize);
+        KenKenCageTable table;
+
+        synchronized (tables) {
+            table = tables.get(key);
+        }
+
+        if (table != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+
+            // List the table outside of the lock so other threads are not held up
+            table = KenKenCageTable.build(cage, boardSize);
+            if (table == null) {
+                table = NO_TABLE;
+            }
+
+            synchronized (tables) {
+                tables.put(key, table);
+            }
+        }
+
+        return table == NO_TABLE ? null : table;
+    }
+
+    /**
+     * The method for creating the key of a cage from everything its table depends on
+     * @param cage - The cage
+     * @param boardSize - The board size
+     * @return - The key of the cage
+     */
+    public static String getSignature(KenKenCage cage, int boardSize) {
+        boolean[][] sameLine = KenKenCageTable.findSameLines(cage.getCells(), boardSize);
+        StringBuilder key = new StringBuilder();
+
+        key.append(cage.getOperator().getSign()).append(cage.getTarget())
+                .append(':').append(boardSize).append(':').append(cage.size()).append(':');
+
+        // Add which pairs of cells share a row or column, in the order of the cells
+        for (int i = 0; i < cage.size(); i++) {
+            for (int j = i + 1; j < cage.size(); j++) {
+                key.append(sameLine[i][j] ? '1' : '0');
+            }
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * The method for setting how many tables are kept before the least recently used ones are dropped
+     * @param entries - The largest number of tables
+     */
+    public static void setMaxEntries(int entries) {
+        synchronized (tables) {
+            maxEntries = entries;
+        }
+    }
+
+    /**
+     * The method for retrieving the number of tables in the cache
+     * @return - The number of tables
+     */
+    public static int size() {
+        synchronized (tables) {
+            return tables.size();
+        }
+    }
+
+    /**
+     * The method for retrieving how many times a table was found in the cache
+     * @return - The number of hits
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * The method for retrieving how many times a table had to be listed
+     * @return - The number of misses
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The method for removing all of the tables and resetting the counters
+     */
+    public static void clear() {
+        synchronized (tables) {
+            tables.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+}
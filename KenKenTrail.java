@@ -0,0 +1,149 @@
+import java.util.Arrays;
+
+/**
+ * The KenKenTrail Class that records the previous domain masks and cell values that were changed during the
+ * search so the puzzle can be put back to the state it was in at any earlier decision level. Each decision opens a
+ * new level, and a cell is only recorded the first time it changes within a level, so undoing a level costs time
+ * proportional to the number of cells that changed in it.
+ */
+public class KenKenTrail {
+    private KenKenVariables variables;
+
+    private int[] trailCells = new int[64];
+    private int[] trailValues = new int[64];
+    private int trailSize = 0;
+
+    private int[] levelStarts = new int[16];
+    private int[] levelStamps = new int[16];
+    private int level = 0;
+    private int nextStamp = 1;
+
+    private int[] domainStamps;
+    private int[] valueStamps;
+
+    /**
+     * The constructor for the KenKenTrail Class
+     * @param v - The variables whose domains and board are being recorded
+     */
+    public KenKenTrail(KenKenVariables v) {
+        variables = v;
+        domainStamps = new int[v.getBoardSize() * v.getBoardSize()];
+        valueStamps = new int[v.getBoardSize() * v.getBoardSize()];
+    }
+
+    /**
+     * The method for opening a new decision level
+     * @return - The new decision level
+     */
+    public int pushLevel() {
+        if (level + 1 == levelStarts.length) {
+            levelStarts = Arrays.copyOf(levelStarts, levelStarts.length * 2);
+            levelStamps = Arrays.copyOf(levelStamps, levelStamps.length * 2);
+        }
+
+        level++;
+        levelStarts[level] = trailSize;
+        levelStamps[level] = nextStamp++;
+
+        return level;
+    }
+
+    /**
+     * The method for undoing everything in the current decision level and closing it
+     */
+    public void popLevel() {
+        backtrackTo(level - 1);
+    }
+
+    /**
+     * The method for undoing all of the changes made after a decision level was opened
+     * @param targetLevel - The decision level to go back to
+     */
+    public void backtrackTo(int targetLevel) {
+        while (level > targetLevel) {
+            // Undo the changes of this level from newest to oldest
+            while (trailSize > levelStarts[level]) {
+                trailSize--;
+                int cell = trailCells[trailSize];
+
+                // If the entry was a cell value instead of a domain
+                if (cell < 0) {
+                    cell = -cell - 1;
+                    variables.restoreCellValue(cell / variables.getBoardSize(), cell % variables.getBoardSize(),
+                            trailValues[trailSize]);
+                    valueStamps[cell] = 0;
+                } else {
+                    variables.domain.restoreDomain(cell, trailValues[trailSize]);
+                    domainStamps[cell] = 0;
+                }
+            }
+            level--;
+        }
+
+        if (variables.explanations != null) {
+            variables.explanations.backtrackTo(targetLevel);
+        }
+    }
+
+    /**
+     * The method for recording the domain of a cell before it is changed
+     * @param cell - The index of the cell
+     * @param oldMask - The domain bitmask before the change
+     */
+    public void recordDomain(int cell, int oldMask) {
+        // Nothing needs to be recorded before the first decision or if the cell was recorded in this level already
+        if (level == 0 || domainStamps[cell] == levelStamps[level]) {
+            return;
+        }
+
+        domainStamps[cell] = levelStamps[level];
+        push(cell, oldMask);
+    }
+
+    /**
+     * The method for recording the value of a cell before it is changed
+     * @param cell - The index of the cell
+     * @param oldValue - The value of the cell before the change
+     */
+    public void recordValue(int cell, int oldValue) {
+        // Nothing needs to be recorded before the first decision or if the cell was recorded in this level already
+        if (level == 0 || valueStamps[cell] == levelStamps[level]) {
+            return;
+        }
+
+        valueStamps[cell] = levelStamps[level];
+        push(-cell - 1, oldValue);
+    }
+
+    /**
+     * The method for adding an entry to the end of the trail
+     * @param cell - The cell of the entry, negative for a cell value
+     * @param value - The domain or value to restore
+     */
+    private void push(int cell, int value) {
+        if (trailSize == trailCells.length) {
+            trailCells = Arrays.copyOf(trailCells, trailCells.length * 2);
+            trailValues = Arrays.copyOf(trailValues, trailValues.length * 2);
+        }
+
+        trailCells[trailSize] = cell;
+        trailValues[trailSize] = value;
+        trailSize++;
+    }
+
+    /**
+     * The method for retrieving the current decision level
+     * @return - The decision level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * The method for retrieving the number of entries on the trail
+     * @return - The size of the trail
+     */
+    public int size() {
+        return trailSize;
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * The KenKenValueOrder enum with the ways the search can order the values of the cell it is guessing. The order of a
+ * cell only depends on the domains, so after backtracking it is the same as when the cell was first guessed and the
+ * search can carry on from the value it tried last.
+ */
+public enum KenKenValueOrder {
+    /**
+     * The values from smallest to largest
+     */
+    ASCENDING,
+    /**
+     * The values that remove the fewest values from the empty cells of the row, column and cages first
+     */
+    LEAST_CONSTRAINING,
+    /**
+     * The values that are in the most combinations of the cages of the cell first
+     */
+    CAGE_FREQUENCY;
+
+    /**
+     * The method for putting the values of a cell in the order of the strategy
+     * @param variables - The variables with the domains and constraints of the puzzle
+     * @param cell - The index of the cell
+     * @return - The values of the domain of the cell, in the order they should be tried
+     */
+    public int[] order(KenKenVariables variables, int cell) {
+        int[] values = new int[variables.domain.size(cell)];
+        long[] scores = new long[values.length];
+        int count = 0;
+
+        for (int value = variables.domain.lowestValue(cell); value != 0; value = variables.domain.nextValue(cell, value)) {
+            long score = 0;
+            if (this == LEAST_CONSTRAINING) {
+                score = countRemovals(variables, cell, value);
+            } else if (this == CAGE_FREQUENCY) {
+                score = -countCombinations(variables, cell, value);
+            }
+
+            // Insert the value after the values with a lower or equal score so ties stay in ascending order
+            int position = count;
+            while (position > 0 && scores[position - 1] > score) {
+                values[position] = values[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            values[position] = value;
+            scores[position] = score;
+            count++;
+        }
+
+        return values;
+    }
+
+    /**
+     * The method for counting the values that giving a cell a value would remove from the domains of its peers
+     * @param variables - The variables with the domains and constraints of the puzzle
+     * @param cell - The index of the cell
+     * @param value - The value
+     * @return - The number of values removed
+     */
+    private static long countRemovals(KenKenVariables variables, int cell, int value) {
+        int boardSize = variables.getBoardSize();
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        long removals = 0;
+
+        // The empty cells of the row and column lose the value
+        for (int i = 0; i < boardSize; i++) {
+            if (i != col && variables.getKenKenArray()[row][i] == 0
+                    && variables.domain.contains(row * boardSize + i, value)) {
+                removals++;
+            }
+            if (i != row && variables.getKenKenArray()[i][col] == 0
+                    && variables.domain.contains(i * boardSize + col, value)) {
+                removals++;
+            }
+        }
+
+        // The other cells of the cages lose the values that no longer have a combination with it
+        for (int cageIndex: variables.constraints.getCellCages(cell)) {
+            KenKenCage cage = variables.constraints.getMathConstraints().get(cageIndex);
+            int[] supports = findSupports(variables, cageIndex, cell, value);
+            if (supports == null) {
+                continue;
+            }
+
+            for (int i = 0; i < cage.size(); i++) {
+                if (cage.getCells()[i] != cell) {
+                    removals += Integer.bitCount(variables.domain.getDomain(cage.getCells()[i]) & ~supports[i]);
+                }
+            }
+        }
+
+        return removals;
+    }
+
+    /**
+     * The method for finding the values of the other cells of a cage that still have a combination with a value
+     * @param variables - The variables with the domains and constraints of the puzzle
+     * @param cageIndex - The index of the cage
+     * @param cell - The index of the cell
+     * @param value - The value of the cell
+     * @return - The bitmask of the supported values of each cell of the cage, or null if the cage cannot tell
+     */
+    private static int[] findSupports(KenKenVariables variables, int cageIndex, int cell, int value) {
+        KenKenCage cage = variables.constraints.getMathConstraints().get(cageIndex);
+        KenKenCageTable table = variables.constraints.getCageTable(cageIndex);
+        int[] cells = cage.getCells();
+        int position = indexOf(cells, cell);
+        int[] supports = new int[cells.length];
+
+        if (table != null) {
+            int[] tuples = table.getTuples();
+
+            // For the combinations that give the cell the value and are still possible
+            for (int start: table.getValueTuples(position, value, variables.getBoardSize())) {
+                boolean valid = true;
+                for (int i = 0; i < cells.length && valid; i++) {
+                    valid = variables.domain.contains(cells[i], tuples[start + i]);
+                }
+                for (int i = 0; i < cells.length && valid; i++) {
+                    supports[i] |= KenKenDomain.bit(tuples[start + i]);
+                }
+            }
+        } else if (cells.length == 2) {
+            int partner = cells[1 - position];
+            boolean sameLine = cell / variables.getBoardSize() == partner / variables.getBoardSize()
+                    || cell % variables.getBoardSize() == partner % variables.getBoardSize();
+
+            for (int other = variables.domain.lowestValue(partner); other != 0;
+                    other = variables.domain.nextValue(partner, other)) {
+                if ((other != value || !sameLine) && KenKenCageTable.satisfies(cage, new int[] {value, other})) {
+                    supports[1 - position] |= KenKenDomain.bit(other);
+                }
+            }
+        } else {
+            return null;
+        }
+
+        return supports;
+    }
+
+    /**
+     * The method for counting the combinations of the cages of a cell that give it a value
+     * @param variables - The variables with the domains and constraints of the puzzle
+     * @param cell - The index of the cell
+     * @param value - The value
+     * @return - The number of combinations
+     */
+    private static long countCombinations(KenKenVariables variables, int cell, int value) {
+        long combinations = 0;
+
+        for (int cageIndex: variables.constraints.getCellCages(cell)) {
+            KenKenCage cage = variables.constraints.getMathConstraints().get(cageIndex);
+            KenKenCageTable table = variables.constraints.getCageTable(cageIndex);
+
+            if (table != null) {
+                combinations += table.getValueTuples(indexOf(cage.getCells(), cell), value,
+                        variables.getBoardSize()).length;
+            } else if (cage.size() == 2) {
+                for (int other = 1; other <= variables.getBoardSize(); other++) {
+                    if (KenKenCageTable.satisfies(cage, new int[] {value, other})) {
+                        combinations++;
+                    }
+                }
+            }
+        }
+
+        return combinations;
+    }
+
+    /**
+     * The method for finding the position of a cell in a cage
+     * @param cells - The indexes of the cells of the cage
+     * @param cell - The index of the cell
+     * @return - The position of the cell
+     */
+    private static int indexOf(int[] cells, int cell) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == cell) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
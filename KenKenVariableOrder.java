@@ -0,0 +1,307 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The KenKenVariableOrder Class that picks the next cell to guess during the search. The empty cells are kept in
+ * buckets by the size of their domains and moved between them whenever a domain or a cell value changes, so the
+ * cell with the fewest values left is found without looking at every cell. Ties go to the cell with the most empty
+ * cells around it in its row, column and cages, and then to the cell in the cage with the fewest combinations.
+ *
+ * Every row, column and cage also has a weight that goes up each time its revision fails. With weighting turned on
+ * the cell with the smallest domain size divided by the total weight of its constraints is chosen instead (dom/wdeg),
+ * so the search goes to the cages that keep failing first. Any ties left can be broken at random.
+ */
+public class KenKenVariableOrder {
+    private KenKenVariables variables;
+    private int boardSize;
+
+    private int[] heads;
+    private int[] next;
+    private int[] previous;
+    private int[] buckets;
+    private boolean built = false;
+
+    private long[] tightness;
+
+    private long[] weights = new long[64];
+    private boolean weighted = false;
+    private Random random;
+
+    /**
+     * The constructor for the KenKenVariableOrder Class
+     * @param v - The variables with the domains and board of the puzzle
+     */
+    public KenKenVariableOrder(KenKenVariables v) {
+        variables = v;
+        boardSize = v.getBoardSize();
+
+        heads = new int[boardSize + 1];
+        next = new int[boardSize * boardSize];
+        previous = new int[boardSize * boardSize];
+        buckets = new int[boardSize * boardSize];
+    }
+
+    /**
+     * The method for moving a cell to the bucket of its domain size, or out of the buckets once it has a value
+     * @param cell - The index of the cell
+     */
+    public void update(int cell) {
+        // The buckets are filled in the first time a cell is chosen, after the puzzle has been read
+        if (!built) {
+            return;
+        }
+
+        int bucket = variables.getKenKenArray()[cell / boardSize][cell % boardSize] == 0
+                ? variables.domain.size(cell) : -1;
+        if (bucket == buckets[cell]) {
+            return;
+        }
+
+        if (buckets[cell] >= 0) {
+            unlink(cell);
+        }
+        if (bucket >= 0) {
+            link(cell, bucket);
+        }
+    }
+
+    /**
+     * The method for choosing the empty cell with the fewest values left, breaking ties by degree and then by the
+     * tightness of its cages
+     * @return - The index of the cell, or -1 if every empty cell has no values left or there are no empty cells
+     */
+    public int chooseCell() {
+        if (!built) {
+            build();
+        }
+        if (weighted) {
+            return chooseWeightedCell();
+        }
+
+        for (int size = 1; size <= boardSize; size++) {
+            int best = -1;
+            int bestDegree = -1;
+            int ties = 0;
+
+            for (int cell = heads[size]; cell >= 0; cell = next[cell]) {
+                int degree = getDegree(cell);
+                int compare = best < 0 ? -1 : Integer.compare(bestDegree, degree);
+                if (compare == 0) {
+                    compare = Long.compare(tightness[cell], tightness[best]);
+                }
+
+                // Keep each tied cell with an equal chance, or the lowest index without a random generator
+                if (compare < 0) {
+                    best = cell;
+                    bestDegree = degree;
+                    ties = 1;
+                } else if (compare == 0 && random != null && random.nextInt(++ties) == 0) {
+                    best = cell;
+                } else if (compare == 0 && random == null && cell < best) {
+                    best = cell;
+                }
+            }
+
+            if (best >= 0) {
+                return best;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * The method for choosing the empty cell with the smallest domain size divided by the weight of its constraints
+     * @return - The index of the cell, or -1 if every empty cell has no values left or there are no empty cells
+     */
+    private int chooseWeightedCell() {
+        int best = -1;
+        long bestSize = 0;
+        long bestWeight = 1;
+        int ties = 0;
+
+        for (int size = 1; size <= boardSize; size++) {
+            for (int cell = heads[size]; cell >= 0; cell = next[cell]) {
+                long weight = getWeight(cell);
+
+                // Compare size / weight without dividing
+                int compare = best < 0 ? -1 : Long.compare(size * bestWeight, bestSize * weight);
+
+                if (compare < 0) {
+                    best = cell;
+                    bestSize = size;
+                    bestWeight = weight;
+                    ties = 1;
+                } else if (compare == 0 && random != null && random.nextInt(++ties) == 0) {
+                    best = cell;
+                } else if (compare == 0 && random == null && cell < best) {
+                    best = cell;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * The method for adding up the weights of the row, column and cages of a cell
+     * @param cell - The index of the cell
+     * @return - The total weight
+     */
+    public long getWeight(int cell) {
+        long weight = getConstraintWeight(cell / boardSize) + getConstraintWeight(boardSize + cell % boardSize);
+
+        for (int cageIndex: variables.constraints.getCellCages(cell)) {
+            weight += getConstraintWeight(2 * boardSize + cageIndex);
+        }
+
+        return weight;
+    }
+
+    /**
+     * The method for raising the weight of a constraint after its revision failed
+     * @param id - The constraint, numbered like in the propagator
+     */
+    public void constraintFailed(int id) {
+        if (id >= weights.length) {
+            weights = Arrays.copyOf(weights, Math.max(weights.length * 2, id + 1));
+        }
+        weights[id]++;
+    }
+
+    /**
+     * The method for retrieving the weight of a constraint, which starts at one
+     * @param id - The constraint, numbered like in the propagator
+     * @return - The weight
+     */
+    public long getConstraintWeight(int id) {
+        return 1 + (id < weights.length ? weights[id] : 0);
+    }
+
+    /**
+     * The method for setting whether the cells are chosen by their domain size divided by their weight
+     * @param w - Whether to use the weights
+     */
+    public void setWeighted(boolean w) {
+        weighted = w;
+    }
+
+    /**
+     * The method for setting the random generator that breaks ties, or null to break them by the lowest index
+     * @param r - The random generator
+     */
+    public void setRandom(Random r) {
+        random = r;
+    }
+
+    /**
+     * The method for counting the empty cells that share a row, column or cage with a cell
+     * @param cell - The index of the cell
+     * @return - The degree of the cell
+     */
+    public int getDegree(int cell) {
+        int row = cell / boardSize;
+        int col = cell % boardSize;
+        int degree = 2 * (boardSize - 1) - Integer.bitCount(variables.getRowUsed(row))
+                - Integer.bitCount(variables.getColUsed(col));
+
+        for (int cageIndex: variables.constraints.getCellCages(cell)) {
+            for (int other: variables.constraints.getMathConstraints().get(cageIndex).getCells()) {
+                if (other != cell && variables.getKenKenArray()[other / boardSize][other % boardSize] == 0) {
+                    degree++;
+                }
+            }
+        }
+
+        return degree;
+    }
+
+    /**
+     * The method for putting every empty cell in its bucket and finding how tight the cages of each cell are
+     */
+    private void build() {
+        Arrays.fill(heads, -1);
+        Arrays.fill(buckets, -1);
+        built = true;
+
+        for (int cell = 0; cell < boardSize * boardSize; cell++) {
+            update(cell);
+        }
+
+        // A cell takes the tightness of its cage with the fewest combinations
+        tightness = new long[boardSize * boardSize];
+        Arrays.fill(tightness, Long.MAX_VALUE);
+        List<KenKenCage> cages = variables.constraints.getMathConstraints();
+        for (int cageIndex = 0; cageIndex < cages.size(); cageIndex++) {
+            KenKenCage cage = cages.get(cageIndex);
+            long combinations = countCombinations(cage, variables.constraints.getCageTable(cageIndex));
+            for (int cell: cage.getCells()) {
+                tightness[cell] = Math.min(tightness[cell], combinations);
+            }
+        }
+    }
+
+    /**
+     * The method for finding how many combinations of values a cage allows
+     * @param cage - The cage
+     * @param table - The table of the cage that the constraints already hold, or null if it has none
+     * @return - The number of combinations, or the number of combinations of its domains if it has no table
+     */
+    private long countCombinations(KenKenCage cage, KenKenCageTable table) {
+        if (cage.size() >= 3) {
+            if (table != null) {
+                return table.getCount();
+            }
+
+            return (long) Math.pow(boardSize, cage.size());
+        }
+
+        long combinations = 0;
+        int[] values = new int[cage.size()];
+        for (int first = 1; first <= boardSize; first++) {
+            values[0] = first;
+            if (cage.size() == 1) {
+                combinations += KenKenCageTable.satisfies(cage, values) ? 1 : 0;
+                continue;
+            }
+            for (int second = 1; second <= boardSize; second++) {
+                values[1] = second;
+                combinations += KenKenCageTable.satisfies(cage, values) ? 1 : 0;
+            }
+        }
+
+        return combinations;
+    }
+
+    /**
+     * The method for adding a cell to the front of a bucket
+     * @param cell - The index of the cell
+     * @param bucket - The domain size of the cell
+     */
+    private void link(int cell, int bucket) {
+        buckets[cell] = bucket;
+        previous[cell] = -1;
+        next[cell] = heads[bucket];
+        if (heads[bucket] >= 0) {
+            previous[heads[bucket]] = cell;
+        }
+        heads[bucket] = cell;
+    }
+
+    /**
+     * The method for taking a cell out of its bucket
+     * @param cell - The index of the cell
+     */
+    private void unlink(int cell) {
+        if (previous[cell] >= 0) {
+            next[previous[cell]] = next[cell];
+        } else {
+            heads[buckets[cell]] = next[cell];
+        }
+        if (next[cell] >= 0) {
+            previous[next[cell]] = previous[cell];
+        }
+        buckets[cell] = -1;
+    }
+}
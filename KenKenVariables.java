@@ -1,7 +1,3 @@
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.TreeSet;
 
 /**
  * @author Rachel Feddersen
@@ -14,8 +10,19 @@ import java.util.TreeSet;
 public class KenKenVariables {
     KenKenConstraints constraints;
     KenKenDomain domain;
+    KenKenTrail trail;
+    KenKenPropagator propagator;
+    KenKenDeduction deduction;
+    KenKenVariableOrder order;
+    KenKenExplanations explanations;
 
     private int[][] kenKenArray = new int[4][4];
+    private int[][] rowCounts;
+    private int[][] colCounts;
+    private int[] rowUsed;
+    private int[] colUsed;
+    private int unfilledCells;
+    private int conflicts;
 
     private int boardSize = 4;
 
@@ -35,10 +42,140 @@ public class KenKenVariables {
      * @param kenKenArray - The KenKenArray's current state
      */
     public void setKenKenArray(int[][] kenKenArray) {
-        this.kenKenArray = kenKenArray;
-
-        domain = new KenKenDomain();
+        this.kenKenArray = new int[getBoardSize()][getBoardSize()];
+        rowCounts = new int[getBoardSize()][getBoardSize() + 1];
+        colCounts = new int[getBoardSize()][getBoardSize() + 1];
+        rowUsed = new int[getBoardSize()];
+        colUsed = new int[getBoardSize()];
+        unfilledCells = getBoardSize() * getBoardSize();
+        conflicts = 0;
+
+        domain = new KenKenDomain(getBoardSize());
         constraints = new KenKenConstraints(domain, getBoardSize());
+        trail = new KenKenTrail(this);
+        domain.setTrail(trail);
+        propagator = new KenKenPropagator(this);
+        domain.setPropagator(propagator);
+        deduction = new KenKenDeduction(domain, getBoardSize());
+        order = new KenKenVariableOrder(this);
+        domain.setVariableOrder(order);
+
+        // Place the values that are already in the array so the row and column masks match it
+        for (int row = 0; row < getBoardSize(); row++) {
+            for (int col = 0; col < getBoardSize(); col++) {
+                setCellValue(row, col, kenKenArray[row][col]);
+            }
+        }
+    }
+
+    /**
+     * The method for recording which decisions each domain depends on, which the search needs to backjump
+     * @return - The explanations of the domains
+     */
+    public KenKenExplanations enableExplanations() {
+        if (explanations == null) {
+            explanations = new KenKenExplanations(this);
+            domain.setExplanations(explanations);
+        }
+
+        return explanations;
+    }
+
+    /**
+     * The method for changing the value of a cell on the board and updating the row and column masks
+     * @param row - The row of the cell
+     * @param col - The column of the cell
+     * @param value - The new value of the cell, or 0 to clear it
+     */
+    public void setCellValue(int row, int col, int value) {
+        if (kenKenArray[row][col] != value) {
+            trail.recordValue(row * getBoardSize() + col, kenKenArray[row][col]);
+            restoreCellValue(row, col, value);
+        }
+    }
+
+    /**
+     * The method for assigning a value to a cell and reducing the domain of the cell to that value
+     * @param row - The row of the cell
+     * @param col - The column of the cell
+     * @param value - The value of the cell
+     */
+    public void assign(int row, int col, int value) {
+        setCellValue(row, col, value);
+        domain.setDomain(row * getBoardSize() + col, KenKenDomain.bit(value));
+    }
+
+    /**
+     * The method for changing the value of a cell without recording it on the trail
+     * @param row - The row of the cell
+     * @param col - The column of the cell
+     * @param value - The new value of the cell, or 0 to clear it
+     */
+    void restoreCellValue(int row, int col, int value) {
+        int oldValue = kenKenArray[row][col];
+
+        // If there was a value in the cell, take it out of the row and column
+        if (oldValue != 0) {
+            if (--rowCounts[row][oldValue] == 0) {
+                rowUsed[row] &= ~KenKenDomain.bit(oldValue);
+            } else {
+                conflicts--;
+            }
+            if (--colCounts[col][oldValue] == 0) {
+                colUsed[col] &= ~KenKenDomain.bit(oldValue);
+            } else {
+                conflicts--;
+            }
+            unfilledCells++;
+        }
+
+        // If there is a new value, add it to the row and column
+        if (value != 0) {
+            if (rowCounts[row][value]++ == 0) {
+                rowUsed[row] |= KenKenDomain.bit(value);
+            } else {
+                conflicts++;
+            }
+            if (colCounts[col][value]++ == 0) {
+                colUsed[col] |= KenKenDomain.bit(value);
+            } else {
+                conflicts++;
+            }
+            unfilledCells--;
+        }
+
+        kenKenArray[row][col] = value;
+
+        // Move the cell into or out of the buckets of empty cells
+        if (order != null) {
+            order.update(row * getBoardSize() + col);
+        }
+    }
+
+    /**
+     * The method for retrieving the bitmask of the values placed in a row
+     * @param row - The row
+     * @return - The bitmask of the values in the row
+     */
+    public int getRowUsed(int row) {
+        return rowUsed[row];
+    }
+
+    /**
+     * The method for retrieving the bitmask of the values placed in a column
+     * @param col - The column
+     * @return - The bitmask of the values in the column
+     */
+    public int getColUsed(int col) {
+        return colUsed[col];
+    }
+
+    /**
+     * The method for retrieving the number of cells that do not have a value yet
+     * @return - The number of unfilled cells
+     */
+    public int getUnfilledCells() {
+        return unfilledCells;
     }
 
     /**
@@ -59,53 +196,11 @@ public class KenKenVariables {
 
     /**
      * The method for removing values from the domain if they are not consistent with the math equations in the
-     * constraints
+     * constraints. Only the constraints of cells whose domains changed since the last call are revised again.
+     * @return - A boolean that is false if a cell has no values left
      */
-    public void removeMathValues() {
-        // Remove all of the values in cells that are equal to one number
-        constraints.removeEqualsDomain();
-
-        // For all of the constraint sets
-        for(Map.Entry<String,String[]> entry : constraints.getMathConstraints().entrySet()) {
-            LinkedList<String> cellGroup = new LinkedList<>();
-            String[] value = entry.getValue();
-
-            cellGroup.add(entry.getKey());
-            for (int i = 0; i < value.length-1; i++) {
-                cellGroup.add(value[i]);
-            }
-
-            // For all of the cells in the current constraint
-            for (String cells: entry.getValue()) {
-                // If it is an addition problem
-                if (cells.substring(cells.length()-1, cells.length()).equals("+")) {
-                    if (cellGroup.size() == 2) {
-                        constraints.addArcConsistency(cellGroup, cells.substring(0, cells.length()-1), getKenKenArray());
-                    } else if (cellGroup.size() == 3) {
-                        constraints.ternaryConsistency(cellGroup, cells.substring(0, cells.length() - 1),
-                        cells.substring(cells.length()-1, cells.length()), getKenKenArray());
-                    } else {
-                        constraints.removeAddValues(cellGroup, cells.substring(0, cells.length() - 1), getKenKenArray());
-                    }
-                // If it is a subtraction problem
-                } else if (cells.substring(cells.length()-1, cells.length()).equals("-")) {
-                    constraints.subArcConsistency(cellGroup, cells.substring(0, cells.length()-1), getKenKenArray());
-                // If it is a multiplication problem
-                } else if (cells.substring(cells.length()-1, cells.length()).equalsIgnoreCase("x")) {
-                    if (cellGroup.size() == 2) {
-                        constraints.multArcConsistency(cellGroup, cells.substring(0, cells.length()-1), getKenKenArray());
-                    } else if (cellGroup.size() == 3) {
-                        constraints.ternaryConsistency(cellGroup, cells.substring(0, cells.length() - 1),
-                        cells.substring(cells.length()-1, cells.length()), getKenKenArray());
-                    } else {
-                        constraints.removeMultValues(cellGroup, cells.substring(0, cells.length()-1), getKenKenArray());
-                    }
-                // If it is a division problem
-                } else if (cells.substring(cells.length()-1, cells.length()).equals("/")) {
-                    constraints.divArcConsistency(cellGroup, cells.substring(0, cells.length()-1), getKenKenArray());
-                }
-            }
-        }
+    public boolean removeMathValues() {
+        return propagator.propagate();
     }
 
     /**
@@ -114,34 +209,16 @@ public class KenKenVariables {
      * @param col - The col of the cell with the domain of one
      * @param value - The value of the cell with the domain of one
      */
-    public void performNodeConsistency(String row, String col, String value) {
-        List<String> newDomain;
-
-        // For all of the cells in the puzzle
-        for(Map.Entry<String,List<String>> entry : domain.getKenKenDomain().entrySet()) {
-            newDomain = new LinkedList<>();
+    public void performNodeConsistency(int row, int col, int value) {
+        // For all of the cells in the same row or column
+        for (int i = 0; i < getBoardSize(); i++) {
             // If the cell is in the same row but not the same column
-            if (entry.getKey().substring(0, 1).equals(row) && !entry.getKey().substring(1, 2).equals(col)) {
-                for (int i = 0; i < domain.getKenKenDomain().get(entry.getKey()).size(); i++) {
-                    // If the value is not equal to the value sent into the program
-                    if (!entry.getValue().get(i).equals(value)) {
-                        newDomain.add("" + entry.getValue().get(i));
-                    }
-                }
-                // Replace the domain
-                domain.getKenKenDomain().replace(entry.getKey(), newDomain);
+            if (i != col) {
+                domain.remove(row * getBoardSize() + i, value);
             }
-
-            // If the cell is in the same column but no the same row
-            if (entry.getKey().substring(1, 2).equals(col) && !entry.getKey().substring(0, 1).equals(row)) {
-                for (int i = 0; i < domain.getKenKenDomain().get(entry.getKey()).size(); i++) {
-                    // If the value is not equal to the value sent into the program
-                    if (!entry.getValue().get(i).equals(value)) {
-                        newDomain.add("" + entry.getValue().get(i));
-                    }
-                }
-                // Replace the domain
-                domain.getKenKenDomain().replace(entry.getKey(), newDomain);
+            // If the cell is in the same column but not the same row
+            if (i != row) {
+                domain.remove(i * getBoardSize() + col, value);
             }
         }
     }
@@ -153,55 +230,13 @@ public class KenKenVariables {
      * @param value - The value of the cell being checked
      * @return - A boolean the states whether or not the assignment is valid
      */
-    public boolean checkRowsCols(String row, String col, String value) {
-        boolean validValue = true;
-
-        // For the all of the cells in the array
-        for (int i = 0; i < getKenKenArray().length; i++) {
-            // If the cells are in the same row
-            if (i == Integer.parseInt(row)) {
-                for (int j = 0; j < getKenKenArray().length; j++) {
-                    // If the cells are not in the same column
-                    if (j != Integer.parseInt(col)) {
-                        // If the value has already been assigned in the row
-                        if (getKenKenArray()[i][j] == Integer.parseInt(value)) {
-                            validValue = false;
-                        } else if (getKenKenArray()[i][j] == 0) {
-                            // If the domain contains the value
-                            if (domain.getKenKenDomain().get(""+i+j).contains(value)) {
-                                // If the domain size without the value is equal to zero
-                                if (domain.getKenKenDomain().get(""+i+j).size()-1 < 1) {
-                                    validValue = false;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            // the cells are in the same column
-            if (i == Integer.parseInt(col)) {
-                for (int j = 0; j < getKenKenArray().length; j++) {
-                    // If the cells are not in the same row
-                    if (j != Integer.parseInt(row)) {
-                        // If the value has already been assigned in the column
-                        if (getKenKenArray()[j][i] == Integer.parseInt(value)) {
-                            validValue = false;
-                        } else if (getKenKenArray()[j][i] == 0) {
-                            // If the domain contains the value
-                            if (domain.getKenKenDomain().get(""+j+i).contains(value)) {
-                                // If the domain size without the value is equal to zero
-                                if (domain.getKenKenDomain().get(""+j+i).size()-1 < 1) {
-                                    validValue = false;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+    public boolean checkRowsCols(int row, int col, int value) {
+        // If the cell already holds the value, only another copy of it is a conflict
+        if (getKenKenArray()[row][col] == value) {
+            return rowCounts[row][value] == 1 && colCounts[col][value] == 1;
         }
 
-        return validValue;
+        return ((rowUsed[row] | colUsed[col]) & KenKenDomain.bit(value)) == 0;
     }
 
     /**
@@ -210,32 +245,14 @@ public class KenKenVariables {
      * @param value - The value of the cell
      * @return - A boolean depending on whether the value is valid for the cell
      */
-    public boolean mathCellValid(String cell, String value) {
-        boolean validValue = false;
-
-        // For all of the constraints
-        for(Map.Entry<String,String[]> entry : constraints.getMathConstraints().entrySet()) {
-            TreeSet<String> cellGroup = new TreeSet<>();
-            String[] valueArray = entry.getValue();
-
-            cellGroup.add(entry.getKey());
-
-            for (int i = 0; i < valueArray.length-1; i++) {
-                cellGroup.add(valueArray[i]);
-            }
-
-            // Get the value the math equation has to equal
-            String eqTotal = valueArray[valueArray.length-1].substring(0, valueArray[valueArray.length-1].length()-1);
-
-            // Get the sign of the math equation
-            String sign = valueArray[valueArray.length-1].substring(valueArray[valueArray.length-1].length()-1,
-                    valueArray[valueArray.length-1].length());
+    public boolean mathCellValid(int cell, int value) {
+        boolean validValue = true;
 
-            for (String cells: cellGroup) {
-                if (cells.equals(cell)) {
-                    // Check the validation for the math equation
-                    validValue = doMathValidation(cellGroup, cell, sign, eqTotal, value);
-                }
+        // For the cages that contain the cell
+        for (int cageIndex: constraints.getCellCages(cell)) {
+            // Check the validation for the math equation
+            if (!doMathValidation(constraints.getMathConstraints().get(cageIndex), cell, value)) {
+                validValue = false;
             }
         }
 
@@ -244,35 +261,36 @@ public class KenKenVariables {
 
     /**
      * The method for checking the validation of the value for the math constraints
-     * @param cellGroup - The TreeSet of the cells for the constraint
+     * @param cage - The cage of the constraint
      * @param cell - The cell being examined
-     * @param sign - The sign of the cell's math equation
-     * @param eqTotal - The value that the cells's values have to equal
      * @param value - The potential value for the cell
      * @return - A boolean to indicate if any values were removed
      */
-    private boolean doMathValidation(TreeSet<String> cellGroup, String cell, String sign, String eqTotal, String value) {
+    private boolean doMathValidation(KenKenCage cage, int cell, int value) {
+        KenKenCage.Operator sign = cage.getOperator();
+        int eqTotal = cage.getTarget();
         boolean validValue = false;
         boolean allCellsFilled = true;
         int cellsTotal = 0;
 
         // For all of the cells in the cell group
-        for (String cells: cellGroup) {
-            if (!cells.equals(cell)) {
+        for (int cells: cage.getCells()) {
+            if (cells != cell) {
+                int cellValue = getKenKenArray()[cells / getBoardSize()][cells % getBoardSize()];
                 // If the sign for the cell is addition or subtraction
-                if (sign.equals("+") || sign.equals("-")) {
-                    if (getKenKenArray()[Integer.parseInt(cells.substring(0, 1))][Integer.parseInt(cells.substring(1, 2))] != 0) {
-                        cellsTotal += getKenKenArray()[Integer.parseInt(cells.substring(0, 1))][Integer.parseInt(cells.substring(1, 2))];
+                if (sign == KenKenCage.Operator.ADD || sign == KenKenCage.Operator.SUBTRACT) {
+                    if (cellValue != 0) {
+                        cellsTotal += cellValue;
                     } else {
                         allCellsFilled = false;
                     }
                 // If the sign for hte cell is multiplication or division
-                } else if (sign.equalsIgnoreCase("x") || sign.equals("/")) {
+                } else if (sign == KenKenCage.Operator.MULTIPLY || sign == KenKenCage.Operator.DIVIDE) {
                     if (cellsTotal == 0) {
                         cellsTotal += 1;
                     }
-                    if (getKenKenArray()[Integer.parseInt(cells.substring(0, 1))][Integer.parseInt(cells.substring(1, 2))] != 0) {
-                        cellsTotal *= getKenKenArray()[Integer.parseInt(cells.substring(0, 1))][Integer.parseInt(cells.substring(1, 2))];
+                    if (cellValue != 0) {
+                        cellsTotal *= cellValue;
                     } else {
                         allCellsFilled = false;
                     }
@@ -281,22 +299,22 @@ public class KenKenVariables {
         }
 
         // If the sign is an equals sign
-        if (sign.equals("=")) {
+        if (sign == KenKenCage.Operator.EQUALS) {
             // If the value is equal to what the cell should be equal to
-            if (Integer.parseInt(value) == Integer.parseInt(eqTotal)) {
+            if (value == eqTotal) {
                 validValue = true;
             }
         // IF the sign is an addition sign
-        } else if (sign.equals("+")) {
+        } else if (sign == KenKenCage.Operator.ADD) {
             validValue = checkAddition(value, eqTotal, cellsTotal, allCellsFilled);
         // If the sign is a subtraction sign
-        } else if (sign.equals("-")) {
+        } else if (sign == KenKenCage.Operator.SUBTRACT) {
             validValue = checkSubtraction(value, eqTotal, cellsTotal, allCellsFilled);
         // If the sign is a multiplication sign
-        } else if (sign.equalsIgnoreCase("x")) {
+        } else if (sign == KenKenCage.Operator.MULTIPLY) {
             validValue = checkMultiplication(value, eqTotal, cellsTotal, allCellsFilled);
         // If the sign is a division sign
-        } else if (sign.equals("/")) {
+        } else if (sign == KenKenCage.Operator.DIVIDE) {
             validValue = checkDivision(value, eqTotal, cellsTotal, allCellsFilled);
         }
 
@@ -311,15 +329,15 @@ public class KenKenVariables {
      * @param allCellsFilled - A boolean determining if all the cells except the current have been assigned
      * @return - A boolean determining if the potential value is valid
      */
-    public boolean checkAddition(String value, String eqTotal, int cellsTotal, boolean allCellsFilled) {
+    public boolean checkAddition(int value, int eqTotal, int cellsTotal, boolean allCellsFilled) {
         boolean validValue = false;
 
         if (!allCellsFilled) {
-            if ((Integer.parseInt(eqTotal) - cellsTotal) >= Integer.parseInt(value)) {
+            if ((eqTotal - cellsTotal) >= value) {
                 validValue = true;
             }
         } else {
-            if ((Integer.parseInt(eqTotal) - cellsTotal) == Integer.parseInt(value)) {
+            if ((eqTotal - cellsTotal) == value) {
                 validValue = true;
             }
         }
@@ -335,16 +353,16 @@ public class KenKenVariables {
      * @param allCellsFilled - A boolean determining if all the cells except the current have been assigned
      * @return - A boolean determining if the potential value is valid
      */
-    public boolean checkSubtraction(String value, String eqTotal, int cellsTotal, boolean allCellsFilled) {
+    public boolean checkSubtraction(int value, int eqTotal, int cellsTotal, boolean allCellsFilled) {
         boolean validValue = false;
 
         if (!allCellsFilled) {
-            if (Integer.parseInt(value) > cellsTotal) {
-                if ((Integer.parseInt(value) - cellsTotal) >= Integer.parseInt(eqTotal)) {
+            if (value > cellsTotal) {
+                if ((value - cellsTotal) >= eqTotal) {
                     validValue = true;
                 }
             } else {
-                if ((cellsTotal - Integer.parseInt(value)) >= Integer.parseInt(eqTotal)) {
+                if ((cellsTotal - value) >= eqTotal) {
                     validValue = true;
                 }
             }
@@ -352,12 +370,12 @@ public class KenKenVariables {
                 validValue = true;
             }
         } else {
-            if (Integer.parseInt(value) > cellsTotal) {
-                if ((Integer.parseInt(value) - cellsTotal) == Integer.parseInt(eqTotal)) {
+            if (value > cellsTotal) {
+                if ((value - cellsTotal) == eqTotal) {
                     validValue = true;
                 }
             } else {
-                if ((cellsTotal - Integer.parseInt(value)) == Integer.parseInt(eqTotal)) {
+                if ((cellsTotal - value) == eqTotal) {
                     validValue = true;
                 }
             }
@@ -374,15 +392,15 @@ public class KenKenVariables {
      * @param allCellsFilled - A boolean determining if all the cells except the current have been assigned
      * @return - A boolean determining if the potential value is valid
      */
-    public boolean checkMultiplication(String value, String eqTotal, int cellsTotal, boolean allCellsFilled) {
+    public boolean checkMultiplication(int value, int eqTotal, int cellsTotal, boolean allCellsFilled) {
         boolean validValue = false;
 
         if (!allCellsFilled) {
-            if ((Integer.parseInt(eqTotal) / cellsTotal) >= Integer.parseInt(value)) {
+            if ((eqTotal / cellsTotal) >= value) {
                 validValue = true;
             }
         } else {
-            if ((Integer.parseInt(eqTotal) / cellsTotal) == Integer.parseInt(value)) {
+            if ((eqTotal / cellsTotal) == value) {
                 validValue = true;
             }
         }
@@ -398,18 +416,18 @@ public class KenKenVariables {
      * @param allCellsFilled - A boolean determining if all the cells except the current have been assigned
      * @return - A boolean determining if the potential value is valid
      */
-    public boolean checkDivision(String value, String eqTotal, int cellsTotal, boolean allCellsFilled) {
+    public boolean checkDivision(int value, int eqTotal, int cellsTotal, boolean allCellsFilled) {
         boolean validValue = false;
 
         if (!allCellsFilled) {
-            if ((Integer.parseInt(value) > cellsTotal)) {
-                if ((Integer.parseInt(value) / cellsTotal) >= Integer.parseInt(eqTotal)) {
+            if ((value > cellsTotal)) {
+                if ((value / cellsTotal) >= eqTotal) {
                     validValue = true;
-                } else if (Integer.parseInt(value) * cellsTotal <= getBoardSize()) {
+                } else if (value * cellsTotal <= getBoardSize()) {
                     validValue = true;
                 }
             } else {
-                if ((cellsTotal / Integer.parseInt(value)) >= Integer.parseInt(eqTotal)) {
+                if ((cellsTotal / value) >= eqTotal) {
                     validValue = true;
                 }
             }
@@ -418,12 +436,12 @@ public class KenKenVariables {
                 validValue = true;
             }
         } else {
-            if (Integer.parseInt(value) > cellsTotal) {
-                if ((Integer.parseInt(value) / cellsTotal) == Integer.parseInt(eqTotal)) {
+            if (value > cellsTotal) {
+                if ((value / cellsTotal) == eqTotal) {
                     validValue = true;
                 }
             } else {
-                if ((cellsTotal / Integer.parseInt(value)) == Integer.parseInt(eqTotal)) {
+                if ((cellsTotal / value) == eqTotal) {
                     validValue = true;
                 }
             }
@@ -433,25 +451,51 @@ public class KenKenVariables {
     }
 
     /**
-     * The method for determining if the puzzle has been solved
-     * @return - A boolean indicating that the puzzle has been solved
+     * The method for placing the value of every empty cell that only has one value left in its domain
+     * @return - A boolean that is false if a placed value conflicts with its row or column
      */
-    public boolean solved() {
-        boolean solved = true;
-        // For all of the cells in the puzzle
-        for (int row = 0; row < getBoardSize(); row++) {
-            for (int col = 0; col < getBoardSize(); col++) {
-                // If there is a cell not assigned
-                if (getKenKenArray()[row][col] == 0) {
-                    solved = false;
-                }
-                // If a cell assignment is not valid
-                if (!checkRowsCols("" + row, "" + col, "" + getKenKenArray()[row][col])) {
-                    solved = false;
+    public boolean placeSingles() {
+        for (int cell = 0; cell < boardSize * boardSize; cell++) {
+            int row = cell / boardSize;
+            int col = cell % boardSize;
+
+            if (kenKenArray[row][col] == 0 && domain.size(cell) == 1) {
+                int value = domain.lowestValue(cell);
+                if (!checkRowsCols(row, col, value)) {
+                    return false;
                 }
+                setCellValue(row, col, value);
             }
         }
 
-        return solved;
+        return true;
+    }
+
+    /**
+     * The method for checking the filled board against the math equation of every cage
+     * @return - A boolean that is true if every cage is satisfied
+     */
+    public boolean cagesSatisfied() {
+        for (KenKenCage cage: constraints.getMathConstraints()) {
+            int[] values = new int[cage.size()];
+            for (int i = 0; i < cage.size(); i++) {
+                values[i] = kenKenArray[cage.getCells()[i] / boardSize][cage.getCells()[i] % boardSize];
+            }
+
+            if (!KenKenCageTable.satisfies(cage, values)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The method for determining if the puzzle has been solved
+     * @return - A boolean indicating that the puzzle has been solved
+     */
+    public boolean solved() {
+        // If every cell is assigned and no value is repeated in a row or column
+        return unfilledCells == 0 && conflicts == 0;
     }
 }